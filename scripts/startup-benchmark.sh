@@ -0,0 +1,81 @@
+#!/usr/bin/env bash
+#
+# Compares the startup time and memory of the ways the application can be run:
+#
+#   jar     the plain fat jar, as in the Dockerfile
+#   aot     the extracted jar with the ahead-of-time processed context (-Dspring.aot.enabled=true)
+#   cds     aot plus the Class Data Sharing archive recorded by the cds profile
+#   native  the GraalVM native image
+#
+# Build the jar and cds modes with mvn -Pcds package -DskipTests and the native mode with
+# mvn -Pnative native:compile -DskipTests (needs a GraalVM JDK). Modes that have not been built are skipped.
+#
+# Every mode is started RUNS times. Reported are the startup time Spring logs, the time until the readiness probe
+# answers UP and the resident set size at that point, as medians.
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+TARGET="$(cd "$(dirname "$0")/.." && pwd)/target"
+JAR="$(find "$TARGET" -maxdepth 1 -name '*.jar' ! -name '*-plain.jar' | head -n 1)"
+JAR_NAME="$(basename "${JAR:-app.jar}")"
+CDS_DIR="$TARGET/cds"
+NATIVE="$TARGET/github-repo-scorer"
+APP_ARGS=(--server.port="$PORT" --github.prefetch.enabled=false --github.cache.snapshot.enabled=false)
+
+command_of() {
+  case "$1" in
+    jar) [[ -f "$JAR" ]] && echo "java -jar $JAR" ;;
+    aot) [[ -f "$CDS_DIR/$JAR_NAME" ]] && echo "java -Dspring.aot.enabled=true -jar $CDS_DIR/$JAR_NAME" ;;
+    cds) [[ -f "$CDS_DIR/application.jsa" ]] \
+           && echo "java -XX:SharedArchiveFile=$CDS_DIR/application.jsa -Dspring.aot.enabled=true -jar $CDS_DIR/$JAR_NAME" ;;
+    native) [[ -x "$NATIVE" ]] && echo "$NATIVE" ;;
+  esac
+}
+
+median() {
+  sort -n | awk '{ values[NR] = $1 } END { print (NR % 2) ? values[(NR + 1) / 2] : (values[NR / 2] + values[NR / 2 + 1]) / 2 }'
+}
+
+# Prints "<spring startup ms> <ms until ready> <rss kB>" for one run of the command.
+run_once() {
+  local log
+  log="$(mktemp)"
+  local start
+  start="$(date +%s%N)"
+  # shellcheck disable=SC2086
+  $1 "${APP_ARGS[@]}" >"$log" 2>&1 &
+  local pid=$!
+  until curl -fs "http://localhost:$PORT/actuator/health/readiness" 2>/dev/null | grep -q UP; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "Application exited before becoming ready, see $log" >&2
+      exit 1
+    fi
+    sleep 0.02
+  done
+  local ready=$(( ($(date +%s%N) - start) / 1000000 ))
+  local rss
+  rss="$(awk '/VmRSS/ { print $2 }' "/proc/$pid/status")"
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  local started
+  started="$(sed -n 's/.*Started .* in \([0-9.]*\) seconds.*/\1/p' "$log" | awk '{ printf "%d", $1 * 1000 }')"
+  rm -f "$log"
+  echo "${started:-0} $ready $rss"
+}
+
+printf '%-8s %14s %14s %12s\n' mode "started (ms)" "ready (ms)" "rss (MB)"
+for mode in jar aot cds native; do
+  command="$(command_of "$mode" || true)"
+  if [[ -z "$command" ]]; then
+    printf '%-8s %s\n' "$mode" "not built, skipped"
+    continue
+  fi
+  results="$(for _ in $(seq "$RUNS"); do run_once "$command"; done)"
+  started="$(cut -d' ' -f1 <<<"$results" | median)"
+  ready="$(cut -d' ' -f2 <<<"$results" | median)"
+  rss="$(cut -d' ' -f3 <<<"$results" | median)"
+  printf '%-8s %14s %14s %12s\n' "$mode" "$started" "$ready" "$(( ${rss%.*} / 1024 ))"
+done
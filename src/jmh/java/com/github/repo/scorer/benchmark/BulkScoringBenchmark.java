@@ -0,0 +1,76 @@
+package com.github.repo.scorer.benchmark;
+
+import com.github.repo.scorer.client.GithubTimestamps;
+import com.github.repo.scorer.client.Repository;
+import com.github.repo.scorer.config.RepositoryScorerConfigurationProperties;
+import com.github.repo.scorer.service.RepositoryColumns;
+import com.github.repo.scorer.service.WeightedRepositoryScorer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Rescoring a whole set of repositories: per-record calls over a shuffled List<Repository> (records scattered over
+ * the heap, as after a cache or index lookup) against bulk scoring of the same set laid out in RepositoryColumns.
+ * bulkScoreIncludingColumns also pays for building the columns from the list.
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BulkScoringBenchmark {
+
+    private static final long NOW = 1_760_000_000L;
+
+    @Param({"10000", "100000"})
+    private int size;
+
+    private WeightedRepositoryScorer scorer;
+    private List<Repository> repositories;
+    private RepositoryColumns columns;
+    private double[] scores;
+
+    @Setup
+    public void setUp() {
+        scorer = new WeightedRepositoryScorer(new RepositoryScorerConfigurationProperties(0.5, 0.3, 0.2));
+        var random = new SplittableRandom(12);
+        repositories = new ArrayList<>(size);
+        for (int id = 0; id < size; id++) {
+            long pushedAt = NOW - random.nextLong(0, 3_000L * GithubTimestamps.SECONDS_PER_DAY);
+            repositories.add(new Repository(id, "repo-" + id, "description of repo " + id, pushedAt, pushedAt,
+                    random.nextInt(0, 50_000), random.nextInt(0, 200_000), "Java"));
+        }
+        Collections.shuffle(repositories, new Random(12));
+        columns = RepositoryColumns.of(repositories, Repository::pushed_at);
+        scores = new double[size];
+    }
+
+    @Benchmark
+    public double[] perRecordScore() {
+        for (int i = 0; i < repositories.size(); i++) {
+            var repository = repositories.get(i);
+            long days = (NOW - repository.pushed_at()) / GithubTimestamps.SECONDS_PER_DAY;
+            scores[i] = scorer.calculateScore(repository.stargazers_count(), repository.forks_count(), days);
+        }
+        return scores;
+    }
+
+    @Benchmark
+    public double[] bulkScore() {
+        scorer.calculateScores(columns, NOW, scores);
+        return scores;
+    }
+
+    @Benchmark
+    public double[] bulkScoreIncludingColumns() {
+        scorer.calculateScores(RepositoryColumns.of(repositories, Repository::pushed_at), NOW, scores);
+        return scores;
+    }
+}
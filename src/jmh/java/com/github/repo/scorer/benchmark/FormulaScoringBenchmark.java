@@ -0,0 +1,89 @@
+package com.github.repo.scorer.benchmark;
+
+import com.github.repo.scorer.client.GithubTimestamps;
+import com.github.repo.scorer.client.Repository;
+import com.github.repo.scorer.config.RepositoryScorerConfigurationProperties;
+import com.github.repo.scorer.formula.FormulaScorer;
+import com.github.repo.scorer.service.RepositoryColumns;
+import com.github.repo.scorer.service.RepositoryScorer;
+import com.github.repo.scorer.service.WeightedRepositoryScorer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Per-record scoring with the hand-written WeightedRepositoryScorer against a compiled formula computing the same
+ * score, and a formula using every variable. Both paths go through the same RepositoryScorer call sites as the
+ * service does.
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormulaScoringBenchmark {
+
+    private static final long NOW = 1_760_000_000L;
+    private static final int SIZE = 10_000;
+
+    private RepositoryScorer weighted;
+    private RepositoryScorer weightedFormula;
+    private RepositoryScorer velocityFormula;
+    private List<Repository> repositories;
+    private RepositoryColumns columns;
+    private double[] scores;
+
+    @Setup
+    public void setUp() {
+        weighted = new WeightedRepositoryScorer(new RepositoryScorerConfigurationProperties(0.5, 0.3, 0.2));
+        weightedFormula = FormulaScorer.compile(
+                "log(stars + 1) * 0.5 + log(forks + 1) * 0.3 + 0.2 / (1 + days_since_updated)");
+        velocityFormula = FormulaScorer.compile(
+                "stars / max(days_since_created, 1) + sqrt(forks / (stars + 1)) - log10(days_since_updated + 1)");
+        var random = new SplittableRandom(12);
+        repositories = new ArrayList<>(SIZE);
+        for (int id = 0; id < SIZE; id++) {
+            long pushedAt = NOW - random.nextLong(0, 3_000L * GithubTimestamps.SECONDS_PER_DAY);
+            long createdAt = pushedAt - random.nextLong(0, 3_000L * GithubTimestamps.SECONDS_PER_DAY);
+            repositories.add(new Repository(id, "repo-" + id, "description of repo " + id, createdAt, pushedAt,
+                    random.nextInt(0, 50_000), random.nextInt(0, 200_000), "Java"));
+        }
+        columns = RepositoryColumns.of(repositories, Repository::pushed_at);
+        scores = new double[SIZE];
+    }
+
+    @Benchmark
+    public double[] handWritten() {
+        return scorePerRecord(weighted);
+    }
+
+    @Benchmark
+    public double[] compiledWeightedFormula() {
+        return scorePerRecord(weightedFormula);
+    }
+
+    @Benchmark
+    public double[] compiledVelocityFormula() {
+        return scorePerRecord(velocityFormula);
+    }
+
+    @Benchmark
+    public double[] compiledWeightedFormulaBulk() {
+        weightedFormula.calculateScores(columns, NOW, scores);
+        return scores;
+    }
+
+    private double[] scorePerRecord(RepositoryScorer scorer) {
+        for (int i = 0; i < repositories.size(); i++) {
+            var repository = repositories.get(i);
+            scores[i] = scorer.calculateScore(repository.stargazers_count(), repository.forks_count(),
+                    (NOW - repository.pushed_at()) / GithubTimestamps.SECONDS_PER_DAY,
+                    (NOW - repository.created_at()) / GithubTimestamps.SECONDS_PER_DAY);
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,161 @@
+package com.github.repo.scorer.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.repo.scorer.model.SearchRepositoriesResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.Feign;
+import feign.RequestLine;
+import feign.Response;
+import feign.Retryer;
+import feign.http2client.Http2Client;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * Per call latency of a GitHub search for a full page of 100 results against a local stub, from sending the request
+ * to the decoded SearchRepositoriesResponse:
+ *
+ *   connection    pooled reuses one HttpClient and its kept alive connection, per_call opens a new one every call
+ *   encoding      gzip sends Accept-Encoding: gzip and inflates the body while it is decoded
+ *   mbitPerSecond paces the stub's writes to that link speed, 0 writes as fast as loopback allows
+ *
+ * The stub speaks plain HTTP/1.1, so per_call only pays the TCP connect and not the TLS handshake a real GitHub call
+ * would add on top.
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 8, time = 3)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GithubHttpClientBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    @Param({"pooled", "per_call"})
+    public String connection;
+
+    @Param({"identity", "gzip"})
+    public String encoding;
+
+    @Param({"0", "100"})
+    public int mbitPerSecond;
+
+    private HttpServer githubStub;
+    private ExecutorService stubExecutor;
+    private HttpClient pooledHttpClient;
+    private SearchClient client;
+
+    interface SearchClient {
+        @RequestLine("GET /search/repositories?q={q}&per_page=100&page=1")
+        SearchRepositoriesResponse search(@feign.Param("q") String query);
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] json = GithubSearchFixtures.searchResponseJson(PAGE_SIZE);
+        byte[] gzippedJson = gzip(json);
+        long nanosPerByte = mbitPerSecond == 0 ? 0 : 8_000L / mbitPerSecond;
+
+        // without it, Nagle's algorithm and delayed ACKs stall the last chunk of small bodies for ~40 ms
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        stubExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        githubStub = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        githubStub.setExecutor(stubExecutor);
+        githubStub.createContext("/search/repositories", exchange -> {
+            boolean compressed = "gzip".equals(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            byte[] body = compressed ? gzippedJson : json;
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            if (compressed) {
+                exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            write(exchange, body, nanosPerByte);
+        });
+        githubStub.start();
+
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        pooledHttpClient = newHttpClient();
+        Client http = "pooled".equals(connection) ? new Http2Client(pooledHttpClient) : perCallClient();
+        client = Feign.builder()
+                .client(http)
+                .retryer(Retryer.NEVER_RETRY)
+                .requestInterceptor(template -> {
+                    if ("gzip".equals(encoding)) {
+                        template.header("Accept-Encoding", "gzip");
+                    }
+                })
+                .decoder((response, type) -> objectMapper.readValue(response.body().asInputStream(),
+                        objectMapper.constructType(type)))
+                .target(SearchClient.class, "http://localhost:" + githubStub.getAddress().getPort());
+    }
+
+    @TearDown
+    public void tearDown() {
+        pooledHttpClient.close();
+        githubStub.stop(0);
+        stubExecutor.close();
+    }
+
+    @Benchmark
+    public SearchRepositoriesResponse search() {
+        return client.search("language:Java created:>2015-01-01 archived:false mirror:false");
+    }
+
+    /*
+     * A fresh HttpClient per call, closed once the body has been read, so no connection is ever reused.
+     * */
+    private static Client perCallClient() {
+        return (request, options) -> {
+            try (HttpClient httpClient = newHttpClient()) {
+                Response response = new Http2Client(httpClient).execute(request, options);
+                byte[] body = response.body().asInputStream().readAllBytes();
+                return response.toBuilder().body(body).build();
+            }
+        };
+    }
+
+    private static HttpClient newHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+    }
+
+    private static void write(HttpExchange exchange, byte[] body, long nanosPerByte) throws IOException {
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (int offset = 0; offset < body.length; offset += CHUNK_SIZE) {
+                int length = Math.min(CHUNK_SIZE, body.length - offset);
+                out.write(body, offset, length);
+                out.flush();
+                if (nanosPerByte > 0) {
+                    LockSupport.parkNanos(length * nanosPerByte);
+                }
+            }
+        }
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(json);
+        }
+        return bytes.toByteArray();
+    }
+}
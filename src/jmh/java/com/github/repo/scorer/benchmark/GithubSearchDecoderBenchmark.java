@@ -0,0 +1,71 @@
+package com.github.repo.scorer.benchmark;
+
+import com.github.repo.scorer.client.GithubSearchResponseDecoder;
+import com.github.repo.scorer.model.SearchRepositoriesResponse;
+import feign.Request;
+import feign.Response;
+import feign.codec.Decoder;
+import feign.optionals.OptionalDecoder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Decodes a 100 item GitHub search page through the Feign decoder chain, once with the Spring Cloud OpenFeign
+ * default (SpringDecoder and Jackson databind) and once with the streaming GithubSearchResponseDecoder.
+ * Run with -prof gc: gc.alloc.rate.norm is the number of bytes allocated per decoded page.
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GithubSearchDecoderBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"databind", "streaming"})
+    public String decoder;
+
+    private Decoder feignDecoder;
+    private Request request;
+    private byte[] searchResponseJson;
+
+    @Setup
+    public void setUp() {
+        // same defaults as the Spring Boot ObjectMapper the default Feign decoder reads with
+        var messageConverters = new HttpMessageConverters(false,
+                List.of(new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build())));
+        var springDecoder = new OptionalDecoder(new ResponseEntityDecoder(new SpringDecoder(() -> messageConverters)));
+        feignDecoder = switch (decoder) {
+            case "databind" -> springDecoder;
+            case "streaming" -> new GithubSearchResponseDecoder(springDecoder);
+            default -> throw new IllegalArgumentException("Unknown decoder " + decoder);
+        };
+        request = Request.create(Request.HttpMethod.GET, "/search/repositories", Collections.emptyMap(),
+                null, StandardCharsets.UTF_8, null);
+        searchResponseJson = GithubSearchFixtures.searchResponseJson(PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Object decodePage() throws IOException {
+        var response = Response.builder()
+                .status(200)
+                .request(request)
+                .headers(Map.of("Content-Type", List.of("application/json")))
+                .body(searchResponseJson)
+                .build();
+        return (SearchRepositoriesResponse) feignDecoder.decode(response, SearchRepositoriesResponse.class);
+    }
+}
@@ -0,0 +1,153 @@
+package com.github.repo.scorer.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.SplittableRandom;
+
+/*
+ * Builds GitHub search API payloads shaped like the real ones: every item carries the owner object, the url
+ * fields, topics and license that the service never reads, next to the handful of fields it does.
+ * */
+final class GithubSearchFixtures {
+
+    private static final String ITEM_TEMPLATE = """
+            {
+              "id": %1$d,
+              "node_id": "MDEwOlJlcG9zaXRvcnk%1$d",
+              "name": "%2$s",
+              "full_name": "%3$s/%2$s",
+              "private": false,
+              "owner": {
+                "login": "%3$s",
+                "id": %4$d,
+                "node_id": "MDQ6VXNlcj%4$d",
+                "avatar_url": "https://avatars.githubusercontent.com/u/%4$d?v=4",
+                "gravatar_id": "",
+                "url": "https://api.github.com/users/%3$s",
+                "html_url": "https://github.com/%3$s",
+                "followers_url": "https://api.github.com/users/%3$s/followers",
+                "following_url": "https://api.github.com/users/%3$s/following{/other_user}",
+                "gists_url": "https://api.github.com/users/%3$s/gists{/gist_id}",
+                "starred_url": "https://api.github.com/users/%3$s/starred{/owner}{/repo}",
+                "subscriptions_url": "https://api.github.com/users/%3$s/subscriptions",
+                "organizations_url": "https://api.github.com/users/%3$s/orgs",
+                "repos_url": "https://api.github.com/users/%3$s/repos",
+                "events_url": "https://api.github.com/users/%3$s/events{/privacy}",
+                "received_events_url": "https://api.github.com/users/%3$s/received_events",
+                "type": "Organization",
+                "user_view_type": "public",
+                "site_admin": false
+              },
+              "html_url": "https://github.com/%3$s/%2$s",
+              "description": "%5$s",
+              "fork": false,
+              "url": "https://api.github.com/repos/%3$s/%2$s",
+              "forks_url": "https://api.github.com/repos/%3$s/%2$s/forks",
+              "keys_url": "https://api.github.com/repos/%3$s/%2$s/keys{/key_id}",
+              "collaborators_url": "https://api.github.com/repos/%3$s/%2$s/collaborators{/collaborator}",
+              "teams_url": "https://api.github.com/repos/%3$s/%2$s/teams",
+              "hooks_url": "https://api.github.com/repos/%3$s/%2$s/hooks",
+              "issue_events_url": "https://api.github.com/repos/%3$s/%2$s/issues/events{/number}",
+              "events_url": "https://api.github.com/repos/%3$s/%2$s/events",
+              "assignees_url": "https://api.github.com/repos/%3$s/%2$s/assignees{/user}",
+              "branches_url": "https://api.github.com/repos/%3$s/%2$s/branches{/branch}",
+              "tags_url": "https://api.github.com/repos/%3$s/%2$s/tags",
+              "blobs_url": "https://api.github.com/repos/%3$s/%2$s/git/blobs{/sha}",
+              "git_tags_url": "https://api.github.com/repos/%3$s/%2$s/git/tags{/sha}",
+              "git_refs_url": "https://api.github.com/repos/%3$s/%2$s/git/refs{/sha}",
+              "trees_url": "https://api.github.com/repos/%3$s/%2$s/git/trees{/sha}",
+              "statuses_url": "https://api.github.com/repos/%3$s/%2$s/statuses/{sha}",
+              "languages_url": "https://api.github.com/repos/%3$s/%2$s/languages",
+              "stargazers_url": "https://api.github.com/repos/%3$s/%2$s/stargazers",
+              "contributors_url": "https://api.github.com/repos/%3$s/%2$s/contributors",
+              "subscribers_url": "https://api.github.com/repos/%3$s/%2$s/subscribers",
+              "subscription_url": "https://api.github.com/repos/%3$s/%2$s/subscription",
+              "commits_url": "https://api.github.com/repos/%3$s/%2$s/commits{/sha}",
+              "git_commits_url": "https://api.github.com/repos/%3$s/%2$s/git/commits{/sha}",
+              "comments_url": "https://api.github.com/repos/%3$s/%2$s/comments{/number}",
+              "issue_comment_url": "https://api.github.com/repos/%3$s/%2$s/issues/comments{/number}",
+              "contents_url": "https://api.github.com/repos/%3$s/%2$s/contents/{+path}",
+              "compare_url": "https://api.github.com/repos/%3$s/%2$s/compare/{base}...{head}",
+              "merges_url": "https://api.github.com/repos/%3$s/%2$s/merges",
+              "archive_url": "https://api.github.com/repos/%3$s/%2$s/{archive_format}{/ref}",
+              "downloads_url": "https://api.github.com/repos/%3$s/%2$s/downloads",
+              "issues_url": "https://api.github.com/repos/%3$s/%2$s/issues{/number}",
+              "pulls_url": "https://api.github.com/repos/%3$s/%2$s/pulls{/number}",
+              "milestones_url": "https://api.github.com/repos/%3$s/%2$s/milestones{/number}",
+              "notifications_url": "https://api.github.com/repos/%3$s/%2$s/notifications{?since,all,participating}",
+              "labels_url": "https://api.github.com/repos/%3$s/%2$s/labels{/name}",
+              "releases_url": "https://api.github.com/repos/%3$s/%2$s/releases{/id}",
+              "deployments_url": "https://api.github.com/repos/%3$s/%2$s/deployments",
+              "created_at": "%6$s",
+              "updated_at": "%7$s",
+              "pushed_at": "%7$s",
+              "git_url": "git://github.com/%3$s/%2$s.git",
+              "ssh_url": "git@github.com:%3$s/%2$s.git",
+              "clone_url": "https://github.com/%3$s/%2$s.git",
+              "svn_url": "https://github.com/%3$s/%2$s",
+              "homepage": "https://%2$s.example.org",
+              "size": %8$d,
+              "stargazers_count": %9$d,
+              "watchers_count": %9$d,
+              "language": "Java",
+              "has_issues": true,
+              "has_projects": true,
+              "has_downloads": true,
+              "has_wiki": true,
+              "has_pages": false,
+              "has_discussions": true,
+              "forks_count": %10$d,
+              "mirror_url": null,
+              "archived": false,
+              "disabled": false,
+              "open_issues_count": %11$d,
+              "license": {
+                "key": "apache-2.0",
+                "name": "Apache License 2.0",
+                "spdx_id": "Apache-2.0",
+                "url": "https://api.github.com/licenses/apache-2.0",
+                "node_id": "MDc6TGljZW5zZTI="
+              },
+              "allow_forking": true,
+              "is_template": false,
+              "web_commit_signoff_required": false,
+              "topics": ["java", "spring", "framework", "%2$s"],
+              "visibility": "public",
+              "forks": %10$d,
+              "open_issues": %11$d,
+              "watchers": %9$d,
+              "default_branch": "main",
+              "score": 1.0
+            }""";
+
+    private GithubSearchFixtures() {
+    }
+
+    static byte[] searchResponseJson(int items) {
+        var random = new SplittableRandom(items);
+        var now = Instant.parse("2025-11-18T12:00:00Z");
+        var json = new StringBuilder("{\"total_count\": 250000, \"incomplete_results\": false, \"items\": [");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            int id = 10_000_000 + i * 7919;
+            var createdAt = now.minus(random.nextInt(30, 5000), ChronoUnit.DAYS).minusSeconds(random.nextInt(86_400));
+            var pushedAt = now.minus(random.nextInt(0, 30), ChronoUnit.DAYS).minusSeconds(random.nextInt(86_400));
+            json.append(ITEM_TEMPLATE.formatted(
+                    id,
+                    "project-" + i,
+                    "organisation-" + (i % 37),
+                    5_000_000 + i,
+                    "A popular repository number " + i + " used to benchmark the GitHub search response mapping",
+                    createdAt,
+                    pushedAt,
+                    random.nextInt(1_000, 500_000),
+                    200_000 - i * 1_500,
+                    random.nextInt(10, 40_000),
+                    random.nextInt(0, 2_000)));
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.repo.scorer.benchmark;
+
+import com.github.repo.scorer.cache.SearchCacheKey;
+import com.github.repo.scorer.cache.SearchResultCache;
+import com.github.repo.scorer.cache.SearchResultCacheSnapshot;
+import com.github.repo.scorer.client.Repository;
+import com.github.repo.scorer.config.SearchCacheConfigurationProperties;
+import com.github.repo.scorer.config.SearchCacheSnapshotConfigurationProperties;
+import com.github.repo.scorer.model.SearchRepositoriesResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Restores a search cache snapshot of 1000 pages with 100 repositories each (100k repositories) into an empty
+ * cache, the work done once on startup before the readiness probe passes, and writes it back.
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchCacheSnapshotBenchmark {
+
+    private static final int PAGES = 1000;
+    private static final int PAGE_SIZE = 100;
+    private static final SearchCacheConfigurationProperties CACHE_PROPERTIES =
+            new SearchCacheConfigurationProperties(true, Duration.ofHours(1), PAGES, Duration.ofHours(1), false);
+
+    private Path directory;
+    private SearchCacheSnapshotConfigurationProperties snapshotProperties;
+    private SearchResultCache filledCache;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("search-cache-snapshot");
+        snapshotProperties = new SearchCacheSnapshotConfigurationProperties(true, directory.resolve("search-cache.bin"),
+                Duration.ofMinutes(1));
+        filledCache = new SearchResultCache(CACHE_PROPERTIES, new SimpleMeterRegistry());
+        for (int page = 1; page <= PAGES; page++) {
+            var items = new ArrayList<Repository>(PAGE_SIZE);
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                int id = page * PAGE_SIZE + i;
+                items.add(new Repository(id, "project-" + id,
+                        "A popular repository number " + id + " used to benchmark the search cache snapshot",
+                        "2020-11-18T12:00:00Z", "2025-11-18T12:00:00Z", i * 13, 200_000 - i * 1_500, "Java"));
+            }
+            var key = new SearchCacheKey("language:java created:>2015-01-01 archived:false mirror:false", page, PAGE_SIZE);
+            filledCache.put(key, new SearchRepositoriesResponse(250_000, items));
+        }
+        new SearchResultCacheSnapshot(filledCache, snapshotProperties).persist();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshotProperties.path());
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public SearchResultCache load() {
+        var cache = new SearchResultCache(CACHE_PROPERTIES, new SimpleMeterRegistry());
+        new SearchResultCacheSnapshot(cache, snapshotProperties).load();
+        return cache;
+    }
+
+    @Benchmark
+    public void persist() {
+        new SearchResultCacheSnapshot(filledCache, snapshotProperties).persist();
+    }
+}
@@ -0,0 +1,141 @@
+package com.github.repo.scorer.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.repo.scorer.cache.PopularSearches;
+import com.github.repo.scorer.cache.SearchCachePeers;
+import com.github.repo.scorer.cache.SearchResultCache;
+import com.github.repo.scorer.client.GithubSearchResponseDecoder;
+import com.github.repo.scorer.config.RepositoryIndexConfigurationProperties;
+import com.github.repo.scorer.config.RepositoryScorerConfigurationProperties;
+import com.github.repo.scorer.config.SearchCacheConfigurationProperties;
+import com.github.repo.scorer.config.MetricsConfigurationProperties;
+import com.github.repo.scorer.config.SearchCrawlConfigurationProperties;
+import com.github.repo.scorer.config.SearchFanOutConfigurationProperties;
+import com.github.repo.scorer.config.SearchPeerConfigurationProperties;
+import com.github.repo.scorer.config.SearchPrefetchConfigurationProperties;
+import com.github.repo.scorer.formula.ScoringFormulas;
+import com.github.repo.scorer.index.RepositoryIndex;
+import com.github.repo.scorer.metrics.LanguageTags;
+import com.github.repo.scorer.metrics.ScoringMetrics;
+import com.github.repo.scorer.model.PageRequest;
+import com.github.repo.scorer.model.ScoredRepositoriesResponse;
+import com.github.repo.scorer.model.SearchRepositoriesResponse;
+import com.github.repo.scorer.model.SearchRepositoryQuery;
+import com.github.repo.scorer.model.SearchRepositoryRequest;
+import com.github.repo.scorer.service.GithubRepositorySearchService;
+import com.github.repo.scorer.service.ReloadableRepositoryScorer;
+import com.github.repo.scorer.service.SearchQueryBuilder;
+import feign.Request;
+import feign.Response;
+import feign.codec.Decoder;
+import feign.optionals.OptionalDecoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Covers the per-request work of GET /api/v1/repositories for a full page of 100 GitHub results: building the
+ * search query, decoding the GitHub payload with the GithubSearchResponseDecoder the Feign client uses, mapping it
+ * to scored repositories (date parsing, scoring and sorting) and encoding the scored response. Run with -prof gc to
+ * see the allocation rate next to the throughput.
+ * */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchPipelineBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private ObjectMapper objectMapper;
+    private Decoder searchDecoder;
+    private Request request;
+    private byte[] searchResponseJson;
+    private GithubRepositorySearchService searchService;
+    private SearchRepositoryRequest searchRequest;
+    private ScoredRepositoriesResponse scoredResponse;
+
+    @Setup
+    public void setUp() throws IOException {
+        // same defaults as the Spring Boot ObjectMapper used by the controllers and the Feign fallback decoder
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        var messageConverters = new HttpMessageConverters(false,
+                List.of(new MappingJackson2HttpMessageConverter(objectMapper)));
+        searchDecoder = new GithubSearchResponseDecoder(
+                new OptionalDecoder(new ResponseEntityDecoder(new SpringDecoder(() -> messageConverters))));
+        request = Request.create(Request.HttpMethod.GET, "/search/repositories", Collections.emptyMap(),
+                null, StandardCharsets.UTF_8, null);
+        searchResponseJson = GithubSearchFixtures.searchResponseJson(PAGE_SIZE);
+        var searchResponse = deserializeSearchResponse();
+
+        var cache = new SearchResultCache(
+                new SearchCacheConfigurationProperties(false, Duration.ofMinutes(5), 1, Duration.ZERO, false),
+                new SimpleMeterRegistry());
+        var index = new RepositoryIndex(new RepositoryIndexConfigurationProperties(false, false,
+                Path.of("unused-index.json"), List.of(), Duration.ZERO, Duration.ZERO, Duration.ZERO,
+                Duration.ZERO, 0),
+                new SimpleMeterRegistry());
+        searchService = new GithubRepositorySearchService(
+                (query, perPage, page, sort, order) -> searchResponse,
+                new ReloadableRepositoryScorer(new RepositoryScorerConfigurationProperties(0.5, 0.3, 0.2)),
+                new ScoringFormulas(),
+                cache,
+                new PopularSearches(new SearchPrefetchConfigurationProperties(false, 0, Duration.ZERO, 0, null)),
+                new SearchCachePeers(new SearchPeerConfigurationProperties(false, null, List.of(), 0, Duration.ZERO,
+                        Duration.ZERO, null), new SimpleMeterRegistry()),
+                index,
+                new ScoringMetrics(new SimpleMeterRegistry(),
+                        new LanguageTags(new MetricsConfigurationProperties(List.of("java")))),
+                new SearchFanOutConfigurationProperties(1),
+                new SearchCrawlConfigurationProperties(1),
+                new SimpleMeterRegistry());
+        searchRequest = new SearchRepositoryRequest(
+                new SearchRepositoryQuery("Java", "2015-01-01"), new PageRequest(PAGE_SIZE, 1));
+        scoredResponse = searchService.searchAndScore(searchRequest);
+    }
+
+    @Benchmark
+    public String buildQueryString() {
+        return new SearchQueryBuilder.Builder("Java", "2015-01-01")
+                .archived(false)
+                .mirror(false)
+                .build()
+                .buildQueryString();
+    }
+
+    @Benchmark
+    public SearchRepositoriesResponse deserializeSearchResponse() throws IOException {
+        var response = Response.builder()
+                .status(200)
+                .request(request)
+                .headers(Map.of("Content-Type", List.of("application/json")))
+                .body(searchResponseJson)
+                .build();
+        return (SearchRepositoriesResponse) searchDecoder.decode(response, SearchRepositoriesResponse.class);
+    }
+
+    @Benchmark
+    public ScoredRepositoriesResponse scoreSearchResponse() {
+        return searchService.searchAndScore(searchRequest);
+    }
+
+    @Benchmark
+    public byte[] serializeScoredResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(scoredResponse);
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.repo.scorer.benchmark;
+
+import com.github.repo.scorer.config.RepositoryScorerConfigurationProperties;
+import com.github.repo.scorer.service.WeightedRepositoryScorer;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compares the scorer against the previous per-call weight validation and BigDecimal rounding.
+ * Run with -prof gc: gc.alloc.rate.norm of calculateScore should be ~0 B/op.
+ * */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WeightedRepositoryScorerBenchmark {
+
+    private static final int SIZE = 1024;
+    private static final int MASK = SIZE - 1;
+
+    private final int[] stars = new int[SIZE];
+    private final int[] forks = new int[SIZE];
+    private final long[] days = new long[SIZE];
+    private RepositoryScorerConfigurationProperties properties;
+    private WeightedRepositoryScorer scorer;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        properties = new RepositoryScorerConfigurationProperties(0.5, 0.3, 0.2);
+        scorer = new WeightedRepositoryScorer(properties);
+        var random = new SplittableRandom(1);
+        for (int i = 0; i < SIZE; i++) {
+            stars[i] = random.nextInt(0, 200_000);
+            forks[i] = random.nextInt(0, 50_000);
+            days[i] = random.nextInt(0, 3_000);
+        }
+    }
+
+    @Benchmark
+    public double calculateScore() {
+        int i = index++ & MASK;
+        return scorer.calculateScore(stars[i], forks[i], days[i]);
+    }
+
+    @Benchmark
+    public double calculateScoreWithBigDecimalRounding() {
+        int i = index++ & MASK;
+        if (properties.starsWeight() < 0 || properties.forksWeight() < 0 || properties.updatedAtWeight() < 0) {
+            throw new IllegalArgumentException("Negative weights are not allowed");
+        }
+        double score = Math.log(stars[i] + 1) * properties.starsWeight()
+                + Math.log(forks[i] + 1) * properties.forksWeight()
+                + properties.updatedAtWeight() / (1 + days[i]);
+        return BigDecimal.valueOf(score).setScale(2, RoundingMode.HALF_UP).doubleValue();
+    }
+}
@@ -1,13 +1,18 @@
 package com.github.repo.scorer;
 
+import com.github.repo.scorer.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableFeignClients
+@EnableScheduling
 @ConfigurationPropertiesScan("com.github.repo.scorer.config")
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class GithubRepoScorerApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,8 @@
+package com.github.repo.scorer.cache;
+
+import com.github.repo.scorer.model.SearchRepositoriesResponse;
+
+import java.time.Instant;
+
+public record CachedSearch(SearchCacheKey key, SearchRepositoriesResponse response, Instant fetchedAt) {
+}
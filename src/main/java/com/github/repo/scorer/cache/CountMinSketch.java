@@ -0,0 +1,67 @@
+package com.github.repo.scorer.cache;
+
+/*
+ * Approximate frequency counts in a fixed depth x width table of counters: every key increments one counter per row,
+ * its estimate is the smallest of those counters. Estimates never undercount and overcount by collisions only.
+ *
+ * Once the number of increments reaches ten times the width, all counters are halved, so the counts describe recent
+ * traffic and a query that was popular yesterday fades out instead of staying on top forever.
+ * */
+final class CountMinSketch {
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+    private final int[][] counters;
+    private final int mask;
+    private final int sampleSize;
+    private int increments;
+
+    /*
+     * width is rounded up to a power of two.
+     * */
+    CountMinSketch(int width) {
+        int roundedWidth = Integer.highestOneBit(Math.max(width, 2) - 1) << 1;
+        this.counters = new int[DEPTH][roundedWidth];
+        this.mask = roundedWidth - 1;
+        this.sampleSize = 10 * roundedWidth;
+    }
+
+    void increment(Object key) {
+        increment(key, 1);
+    }
+
+    void increment(Object key, int count) {
+        int hash = key.hashCode();
+        for (int row = 0; row < DEPTH; row++) {
+            int index = index(hash, row);
+            counters[row][index] = (int) Math.min((long) counters[row][index] + count, Integer.MAX_VALUE);
+        }
+        increments += count;
+        if (increments >= sampleSize) {
+            age();
+        }
+    }
+
+    int estimate(Object key) {
+        int hash = key.hashCode();
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters[row][index(hash, row)]);
+        }
+        return estimate;
+    }
+
+    private void age() {
+        for (int[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>>= 1;
+            }
+        }
+        increments /= 2;
+    }
+
+    private int index(int hash, int row) {
+        long mixed = (hash + SEEDS[row]) * SEEDS[row];
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+}
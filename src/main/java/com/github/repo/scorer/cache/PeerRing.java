@@ -0,0 +1,56 @@
+package com.github.repo.scorer.cache;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * Consistent hash ring over the replicas: every member is placed on the ring at virtualNodes points and a key is
+ * owned by the first member point at or after the key's own point, wrapping around. Adding or removing a member
+ * only moves the keys between it and its neighbours, and the virtual nodes spread the keys evenly.
+ *
+ * Points are the first eight bytes of the MD5 digest, so every replica computes the same ring from the same members.
+ * */
+final class PeerRing {
+    private final TreeMap<Long, URI> points = new TreeMap<>();
+
+    PeerRing(List<URI> members, int virtualNodes) {
+        for (URI member : members) {
+            for (int node = 0; node < virtualNodes; node++) {
+                points.put(point(member + "#" + node), member);
+            }
+        }
+    }
+
+    /*
+     * null for an empty ring.
+     * */
+    URI owner(String key) {
+        if (points.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, URI> owner = points.ceilingEntry(point(key));
+        return owner != null ? owner.getValue() : points.firstEntry().getValue();
+    }
+
+    private static long point(String value) {
+        byte[] digest = md5().digest(value.getBytes(StandardCharsets.UTF_8));
+        long point = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            point = point << 8 | (digest[i] & 0xFF);
+        }
+        return point;
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.github.repo.scorer.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.repo.scorer.config.SearchPrefetchConfigurationProperties;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * Tracks how often every GitHub search page is asked for, in constant memory: counts live in a count-min sketch and
+ * only a bounded set of candidates (four times top-queries) is remembered by key. A key that is not a candidate
+ * replaces the least frequent candidate once its estimate is higher.
+ *
+ * The most popular keys are written to a small JSON file so that after a restart they can be warmed before the
+ * first request for them arrives.
+ * */
+@Component
+public class PopularSearches {
+    private static final Logger log = LoggerFactory.getLogger(PopularSearches.class);
+    private static final int CANDIDATES_PER_TOP_QUERY = 4;
+    private static final int SKETCH_WIDTH_PER_CANDIDATE = 16;
+
+    private final boolean enabled;
+    private final Path path;
+    private final int maxCandidates;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /* guarded by this */
+    private final CountMinSketch sketch;
+    private final Set<SearchCacheKey> candidates = new HashSet<>();
+
+    public PopularSearches(SearchPrefetchConfigurationProperties properties) {
+        this.enabled = properties.enabled();
+        this.path = properties.path();
+        this.maxCandidates = Math.max(1, properties.topQueries() * CANDIDATES_PER_TOP_QUERY);
+        this.sketch = new CountMinSketch(maxCandidates * SKETCH_WIDTH_PER_CANDIDATE);
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!enabled || path == null || !Files.exists(path)) {
+            return;
+        }
+        try {
+            var searches = objectMapper.readValue(path.toFile(), PopularSearch[].class);
+            for (var search : searches) {
+                record(search.key(), search.count());
+            }
+            log.info("Loaded {} popular searches from {}", searches.length, path);
+        } catch (IOException e) {
+            log.error("Could not load popular searches {}, starting empty: {}", path, e.getMessage());
+        }
+    }
+
+    /*
+     * Writes to a sibling file first, so a crash never leaves a half written file behind. Failures are only logged,
+     * the counts in memory stay valid.
+     * */
+    public void persist(int limit) {
+        if (!enabled || path == null) {
+            return;
+        }
+        try {
+            Path directory = path.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            objectMapper.writeValue(temporary.toFile(), top(limit));
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not persist popular searches {}: {}", path, e.getMessage());
+        }
+    }
+
+    public void record(SearchCacheKey key) {
+        record(key, 1);
+    }
+
+    private synchronized void record(SearchCacheKey key, int count) {
+        if (!enabled) {
+            return;
+        }
+        sketch.increment(key, count);
+        if (candidates.contains(key)) {
+            return;
+        }
+        if (candidates.size() < maxCandidates) {
+            candidates.add(key);
+            return;
+        }
+        SearchCacheKey leastFrequent = null;
+        int lowestEstimate = Integer.MAX_VALUE;
+        for (var candidate : candidates) {
+            int estimate = sketch.estimate(candidate);
+            if (estimate < lowestEstimate) {
+                leastFrequent = candidate;
+                lowestEstimate = estimate;
+            }
+        }
+        if (sketch.estimate(key) > lowestEstimate) {
+            candidates.remove(leastFrequent);
+            candidates.add(key);
+        }
+    }
+
+    /*
+     * The limit most frequent searches, most frequent first.
+     * */
+    public synchronized List<PopularSearch> top(int limit) {
+        var searches = new ArrayList<PopularSearch>(candidates.size());
+        for (var candidate : candidates) {
+            searches.add(new PopularSearch(candidate, sketch.estimate(candidate)));
+        }
+        searches.sort(Comparator.comparingInt(PopularSearch::count).reversed());
+        return List.copyOf(searches.subList(0, Math.min(limit, searches.size())));
+    }
+
+    public record PopularSearch(SearchCacheKey key, int count) {
+    }
+}
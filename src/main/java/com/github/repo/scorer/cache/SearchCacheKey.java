@@ -0,0 +1,4 @@
+package com.github.repo.scorer.cache;
+
+public record SearchCacheKey(String query, int page, int pageSize) {
+}
@@ -0,0 +1,189 @@
+package com.github.repo.scorer.cache;
+
+import com.github.repo.scorer.config.SearchPeerConfigurationProperties;
+import com.github.repo.scorer.exception.TooManyRequestsException;
+import com.github.repo.scorer.exception.UnprocessableEntityException;
+import com.github.repo.scorer.model.SearchRepositoryQuery;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+/*
+ * Shares the search result cache between replicas. The replicas form a consistent hash ring over the search cache
+ * keys, and every key has one owner: the only replica that searches GitHub for it. Any other replica missing the key
+ * in its own cache asks the owner over HTTP, and the owner answers from its cache or searches GitHub once for all
+ * replicas. The answer carries the time the owner fetched it at, so the copy cached by the asking replica expires
+ * together with the owner's.
+ *
+ * When the owner cannot be reached, times out or fails, the asking replica searches GitHub itself, and an
+ * unreachable owner is not asked again for down-for. Rate limit and invalid query answers of the owner are passed
+ * on as they are, since asking GitHub again would get the same answer.
+ *
+ * Owners are asked with the language, created_after and page of the search rather than the GitHub query, and
+ * rebuild the query themselves, so the peer endpoint cannot run arbitrary GitHub searches. Every peer request
+ * carries the shared secret, and requests without it are answered as if the cache was not shared. Pages that are
+ * not searched for a language and created_after (the windows of a crawl) are always searched locally.
+ * */
+@Component
+public class SearchCachePeers {
+    public static final String PEER_SEARCH_PATH = "/internal/search-cache";
+    public static final String SECRET_HEADER = "X-Peer-Secret";
+    private static final Logger log = LoggerFactory.getLogger(SearchCachePeers.class);
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int UNPROCESSABLE_ENTITY = 422;
+
+    private final boolean enabled;
+    private final URI self;
+    private final PeerRing ring;
+    private final Duration timeout;
+    private final Duration downFor;
+    private final byte[] secret;
+    private final HttpClient httpClient;
+    private final Map<URI, Long> downUntil = new ConcurrentHashMap<>();
+    private final Counter served;
+    private final Counter failedOver;
+    private final Counter skipped;
+
+    public SearchCachePeers(SearchPeerConfigurationProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        if (enabled && (properties.secret() == null || properties.secret().isBlank())) {
+            throw new IllegalStateException("github.peers.secret must be set when github.peers.enabled is true");
+        }
+        this.secret = enabled ? properties.secret().getBytes(StandardCharsets.UTF_8) : null;
+        this.self = properties.self() == null ? null : normalize(properties.self());
+        var members = new ArrayList<URI>();
+        if (properties.members() != null) {
+            properties.members().stream().map(SearchCachePeers::normalize).distinct().forEach(members::add);
+        }
+        if (self != null && !members.contains(self)) {
+            members.add(self);
+        }
+        this.ring = new PeerRing(members, Math.max(1, properties.virtualNodes()));
+        this.timeout = properties.timeout();
+        this.downFor = properties.downFor();
+        this.httpClient = enabled
+                ? HttpClient.newBuilder()
+                        .executor(Executors.newVirtualThreadPerTaskExecutor())
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(timeout)
+                        .build()
+                : null;
+        this.served = requests(meterRegistry, "served");
+        this.failedOver = requests(meterRegistry, "failover");
+        this.skipped = requests(meterRegistry, "owner_down");
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("github.peers.requests")
+                .description("Search cache misses of keys owned by another replica, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /*
+     * Whether a peer request carrying the secret may be answered.
+     * */
+    public boolean authorized(String secret) {
+        return enabled && secret != null && MessageDigest.isEqual(this.secret, secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean ownsLocally(SearchCacheKey key) {
+        return !enabled || self == null || self.equals(owner(key));
+    }
+
+    URI owner(SearchCacheKey key) {
+        return ring.owner(key.query() + "&page=" + key.page() + "&per_page=" + key.pageSize());
+    }
+
+    /*
+     * The owner's cache entry for the key, the page of the query, empty when this replica owns the key itself or has
+     * to search GitHub because the owner is unavailable.
+     * */
+    public Optional<CachedSearch> fetchFromOwner(SearchCacheKey key, SearchRepositoryQuery query) {
+        if (ownsLocally(key)) {
+            return Optional.empty();
+        }
+        URI owner = owner(key);
+        Long down = downUntil.get(owner);
+        if (down != null && System.nanoTime() - down < 0) {
+            skipped.increment();
+            return Optional.empty();
+        }
+
+        var request = HttpRequest.newBuilder(requestUri(owner, key, query))
+                .timeout(timeout)
+                .header(SECRET_HEADER, new String(secret, StandardCharsets.UTF_8))
+                .GET()
+                .build();
+        try {
+            var response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() == TOO_MANY_REQUESTS) {
+                throw new TooManyRequestsException("GitHub search rate limit reached, please try again later.");
+            }
+            if (response.statusCode() == UNPROCESSABLE_ENTITY) {
+                throw new UnprocessableEntityException("Search criteria cannot be applied or API has been spammed.");
+            }
+            if (response.statusCode() != 200) {
+                return failover(owner, key, "status " + response.statusCode());
+            }
+            List<CachedSearch> searches = SearchResultCacheSnapshot.read(ByteBuffer.wrap(response.body()));
+            if (searches.size() != 1 || !searches.get(0).key().equals(key)) {
+                return failover(owner, key, "unexpected answer");
+            }
+            downUntil.remove(owner);
+            served.increment();
+            return Optional.of(searches.get(0));
+        } catch (IOException e) {
+            downUntil.put(owner, System.nanoTime() + downFor.toNanos());
+            return failover(owner, key, e.toString());
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return failover(owner, key, "unreadable answer");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failover(owner, key, "interrupted");
+        }
+    }
+
+    private Optional<CachedSearch> failover(URI owner, SearchCacheKey key, String reason) {
+        log.warn("Peer {} could not serve search {}, searching locally: {}", owner, key, reason);
+        failedOver.increment();
+        return Optional.empty();
+    }
+
+    private static URI requestUri(URI owner, SearchCacheKey key, SearchRepositoryQuery query) {
+        return URI.create(owner + PEER_SEARCH_PATH
+                + "?language=" + URLEncoder.encode(query.language(), StandardCharsets.UTF_8)
+                + "&created_after=" + URLEncoder.encode(query.createdAfter(), StandardCharsets.UTF_8)
+                + "&page=" + key.page()
+                + "&page_size=" + key.pageSize());
+    }
+
+    private static URI normalize(URI uri) {
+        String value = uri.toString();
+        return value.endsWith("/") ? URI.create(value.substring(0, value.length() - 1)) : uri;
+    }
+}
@@ -0,0 +1,172 @@
+package com.github.repo.scorer.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.repo.scorer.config.SearchCacheConfigurationProperties;
+import com.github.repo.scorer.model.SearchRepositoriesResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/*
+ * Holds raw GitHub search responses rather than scored ones, so that a change of scoring weights
+ * does not invalidate anything stored here. Caffeine evicts with W-TinyLFU once maximum-size is reached.
+ *
+ * With a max-stale window, every response is also kept as the last good response of its key for ttl + max-stale.
+ * Those are only read through getStale, after the fresh lookup missed, and do not count towards the cache stats.
+ *
+ * Entries expire a fixed time after they were written, except for entries restored from a snapshot, which keep the
+ * expiry of their original fetch.
+ * */
+@Component
+public class SearchResultCache {
+    public static final String CACHE_NAME = "github.search";
+    private final boolean enabled;
+    private final boolean staleWhileRevalidate;
+    private final Duration ttl;
+    private final Duration staleTtl;
+    private final Cache<SearchCacheKey, SearchRepositoriesResponse> cache;
+    private final Cache<SearchCacheKey, SearchRepositoriesResponse> lastGood;
+
+    public SearchResultCache(SearchCacheConfigurationProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.staleWhileRevalidate = properties.staleWhileRevalidate();
+        this.ttl = properties.ttl();
+        this.staleTtl = properties.ttl().plus(properties.maxStale());
+        this.cache = Caffeine.newBuilder()
+                .expireAfter(Expiry.<SearchCacheKey, SearchRepositoriesResponse>writing((key, response) -> ttl))
+                .maximumSize(properties.maximumSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.lastGood = properties.maxStale().isPositive()
+                ? Caffeine.newBuilder()
+                        .expireAfter(Expiry.<SearchCacheKey, SearchRepositoriesResponse>writing((key, response) -> staleTtl))
+                        .maximumSize(properties.maximumSize())
+                        .build()
+                : null;
+    }
+
+    public Optional<SearchRepositoriesResponse> get(SearchCacheKey key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(key));
+    }
+
+    /*
+     * Looks up an entry without recording a hit or miss, for re-checks that would otherwise double count.
+     * */
+    public Optional<SearchRepositoriesResponse> peek(SearchCacheKey key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.policy().getIfPresentQuietly(key));
+    }
+
+    /*
+     * The last good response of the key that is past its ttl but within max-stale, for when no fresh one is cached.
+     * */
+    public Optional<SearchRepositoriesResponse> getStale(SearchCacheKey key) {
+        if (!enabled || lastGood == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(lastGood.getIfPresent(key));
+    }
+
+    /*
+     * Whether the key has no fresh entry or its entry expires within the given time. Always false when caching is
+     * disabled, as there is nothing to keep fresh then.
+     * */
+    public boolean expiresWithin(SearchCacheKey key, Duration within) {
+        if (!enabled) {
+            return false;
+        }
+        var expiresAfter = cache.policy().expireVariably().flatMap(expiration -> expiration.getExpiresAfter(key));
+        return expiresAfter.isEmpty() || expiresAfter.get().compareTo(within) <= 0;
+    }
+
+    public boolean staleWhileRevalidate() {
+        return staleWhileRevalidate && lastGood != null;
+    }
+
+    public void put(SearchCacheKey key, SearchRepositoriesResponse response) {
+        if (enabled && response != null) {
+            cache.put(key, response);
+            if (lastGood != null) {
+                lastGood.put(key, response);
+            }
+        }
+    }
+
+    /*
+     * The fresh entries with the time they were fetched at, oldest first.
+     * */
+    public List<CachedSearch> entries() {
+        if (!enabled) {
+            return List.of();
+        }
+        Instant now = Instant.now();
+        return cache.policy().expireVariably().orElseThrow().oldest(entries -> entries
+                .map(entry -> new CachedSearch(entry.getKey(), entry.getValue(), fetchedAt(now, entry.expiresAfter())))
+                .toList());
+    }
+
+    /*
+     * Like get, together with the time the response was fetched at.
+     * */
+    public Optional<CachedSearch> getEntry(SearchCacheKey key) {
+        return get(key).map(response -> new CachedSearch(key, response, fetchedAt(Instant.now(),
+                cache.policy().expireVariably().orElseThrow().getExpiresAfter(key).orElse(Duration.ZERO))));
+    }
+
+    private Instant fetchedAt(Instant now, Duration expiresAfter) {
+        return now.minus(ttl.minus(expiresAfter));
+    }
+
+    /*
+     * Puts back an entry fetched at the given time, for its remaining ttl. Entries older than the ttl are dropped
+     * and fresh entries already in the cache are kept, while a restored entry replaces an older stale one.
+     * */
+    public boolean restore(CachedSearch search) {
+        var age = Duration.between(search.fetchedAt(), Instant.now());
+        if (age.isNegative()) {
+            age = Duration.ZERO;
+        }
+        if (!enabled || search.response() == null || age.compareTo(ttl) >= 0) {
+            return false;
+        }
+        boolean restored = restore(cache, search, ttl.minus(age));
+        if (restored && lastGood != null) {
+            lastGood.policy().expireVariably().orElseThrow()
+                    .put(search.key(), search.response(), staleTtl.minus(age));
+        }
+        return restored;
+    }
+
+    private static boolean restore(Cache<SearchCacheKey, SearchRepositoriesResponse> cache, CachedSearch search,
+                                   Duration expiresAfter) {
+        Policy.VarExpiration<SearchCacheKey, SearchRepositoriesResponse> expiration =
+                cache.policy().expireVariably().orElseThrow();
+        return expiration.putIfAbsent(search.key(), search.response(), expiresAfter) == null;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        if (lastGood != null) {
+            lastGood.invalidateAll();
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,254 @@
+package com.github.repo.scorer.cache;
+
+import com.github.repo.scorer.client.Repository;
+import com.github.repo.scorer.config.SearchCacheSnapshotConfigurationProperties;
+import com.github.repo.scorer.model.SearchRepositoriesResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Keeps the search result cache across restarts. Every interval, and when the application shuts down, the fresh
+ * cache entries are written with their fetch time to a binary snapshot file. On startup the file is memory mapped and
+ * read back before the application context is up, so before the readiness probe passes; entries older than the
+ * cache ttl are dropped and the rest expire when they would have without the restart.
+ *
+ * The file is a header (magic, version, entry count) followed by the entries, every field in fixed width big endian
+ * and every string as its UTF-8 length (-1 for null) and bytes. An unreadable or incompatible file is ignored.
+ * Replicas exchange cache entries in the same format (see SearchCachePeers).
+ * */
+@Component
+public class SearchResultCacheSnapshot {
+    private static final Logger log = LoggerFactory.getLogger(SearchResultCacheSnapshot.class);
+    private static final int MAGIC = 0x47525343;
+    private static final int VERSION = 1;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final int NULL_LENGTH = -1;
+
+    private final SearchResultCache searchResultCache;
+    private final boolean enabled;
+    private final Path path;
+
+    public SearchResultCacheSnapshot(SearchResultCache searchResultCache,
+                                     SearchCacheSnapshotConfigurationProperties properties) {
+        this.searchResultCache = searchResultCache;
+        this.enabled = properties.enabled();
+        this.path = properties.path();
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!enabled || path == null || !Files.exists(path)) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<CachedSearch> searches;
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            searches = read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            log.error("Could not load search cache snapshot {}, starting cold: {}", path, e.getMessage());
+            return;
+        }
+        int restored = 0;
+        for (var search : searches) {
+            if (searchResultCache.restore(search)) {
+                restored++;
+            }
+        }
+        log.info("Restored {} of {} cached searches from {} in {} ms", restored, searches.size(), path,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Scheduled(initialDelayString = "${github.cache.snapshot.interval}",
+            fixedDelayString = "${github.cache.snapshot.interval}")
+    public void scheduledPersist() {
+        persist();
+    }
+
+    /*
+     * Writes to a sibling file first, so a crash never leaves a half written snapshot behind. Failures are only
+     * logged, the cache itself stays valid.
+     * */
+    @PreDestroy
+    public void persist() {
+        if (!enabled || path == null) {
+            return;
+        }
+        var searches = searchResultCache.entries();
+        try {
+            Path directory = path.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            try (var channel = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                write(channel, searches);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Persisted {} cached searches to {}", searches.size(), path);
+        } catch (IOException e) {
+            log.error("Could not persist search cache snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    public static void write(WritableByteChannel channel, List<CachedSearch> searches) throws IOException {
+        var writer = new SnapshotWriter(channel);
+        writer.putInt(MAGIC);
+        writer.putInt(VERSION);
+        writer.putInt(searches.size());
+        for (var search : searches) {
+            writer.putString(search.key().query());
+            writer.putInt(search.key().page());
+            writer.putInt(search.key().pageSize());
+            writer.putLong(search.fetchedAt().toEpochMilli());
+            var response = search.response();
+            writer.putInt(response.total_count());
+            var items = response.items();
+            writer.putInt(items == null ? NULL_LENGTH : items.size());
+            if (items == null) {
+                continue;
+            }
+            for (var repository : items) {
+                writer.putInt(repository.id());
+                writer.putString(repository.name());
+                writer.putString(repository.description());
+                writer.putLong(repository.created_at());
+                writer.putLong(repository.pushed_at());
+                writer.putInt(repository.forks_count());
+                writer.putInt(repository.stargazers_count());
+                writer.putString(repository.language());
+            }
+        }
+        writer.flush();
+    }
+
+    /*
+     * Throws BufferUnderflowException or IllegalArgumentException when the buffer does not hold a complete snapshot.
+     * */
+    public static List<CachedSearch> read(ByteBuffer buffer) {
+        var reader = new SnapshotReader(buffer);
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("not a search cache snapshot");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("unsupported snapshot version " + version);
+        }
+        int count = buffer.getInt();
+        var searches = new ArrayList<CachedSearch>();
+        for (int i = 0; i < count; i++) {
+            var key = new SearchCacheKey(reader.getString(), buffer.getInt(), buffer.getInt());
+            var fetchedAt = Instant.ofEpochMilli(buffer.getLong());
+            int totalCount = buffer.getInt();
+            int itemCount = buffer.getInt();
+            List<Repository> items = null;
+            if (itemCount != NULL_LENGTH) {
+                items = new ArrayList<>(Math.min(itemCount, buffer.remaining()));
+                for (int item = 0; item < itemCount; item++) {
+                    items.add(new Repository(buffer.getInt(), reader.getString(), reader.getString(),
+                            buffer.getLong(), buffer.getLong(), buffer.getInt(), buffer.getInt(), reader.getString()));
+                }
+            }
+            searches.add(new CachedSearch(key, new SearchRepositoriesResponse(totalCount, items), fetchedAt));
+        }
+        return searches;
+    }
+
+    /*
+     * Fills a buffer and hands it to the channel whenever the next value does not fit.
+     * */
+    private static final class SnapshotWriter {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+
+        private SnapshotWriter(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInt(int value) throws IOException {
+            ensureRemaining(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            ensureRemaining(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        void putString(String value) throws IOException {
+            if (value == null) {
+                putInt(NULL_LENGTH);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            if (bytes.length > buffer.capacity()) {
+                flush();
+                writeFully(ByteBuffer.wrap(bytes));
+                return;
+            }
+            ensureRemaining(bytes.length);
+            buffer.put(bytes);
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            writeFully(buffer);
+            buffer.clear();
+        }
+
+        private void ensureRemaining(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void writeFully(ByteBuffer source) throws IOException {
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        }
+    }
+
+    /*
+     * Decodes strings through one reused scratch array instead of a copy per string.
+     * */
+    private static final class SnapshotReader {
+        private final ByteBuffer buffer;
+        private byte[] scratch = new byte[256];
+
+        private SnapshotReader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        String getString() {
+            int length = buffer.getInt();
+            if (length == NULL_LENGTH) {
+                return null;
+            }
+            if (length < 0 || length > buffer.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            if (length > scratch.length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.repo.scorer.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/*
+ * Deduplicates concurrent calls for the same key: the first caller executes the supplier, every caller arriving
+ * while it is in flight waits for and receives the same result or exception. Once the call completes the key is
+ * released, so later callers trigger a new execution.
+ * */
+public class SingleFlight<K, V> {
+    private final ConcurrentMap<K, Call<V>> inFlight = new ConcurrentHashMap<>();
+    private final DistributionSummary coalescedCallers;
+
+    public SingleFlight(DistributionSummary coalescedCallers) {
+        this.coalescedCallers = coalescedCallers;
+    }
+
+    public V execute(K key, Supplier<V> supplier) {
+        var call = new Call<V>();
+        var existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            return existing.await();
+        }
+
+        try {
+            V value = supplier.get();
+            call.result.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+            coalescedCallers.record(call.joined.get());
+        }
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    int joinedCount(K key) {
+        var call = inFlight.get(key);
+        return call == null ? 0 : call.joined.get();
+    }
+
+    private static final class Call<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final AtomicInteger joined = new AtomicInteger();
+
+        private V await() {
+            joined.incrementAndGet();
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+                if (e.getCause() instanceof Error error) throw error;
+                throw e;
+            }
+        }
+    }
+}
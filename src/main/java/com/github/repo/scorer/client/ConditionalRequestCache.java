@@ -0,0 +1,103 @@
+package com.github.repo.scorer.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.repo.scorer.config.ConditionalRequestConfigurationProperties;
+import feign.InvocationContext;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.ResponseInterceptor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/*
+ * Remembers the ETag and Last-Modified validators GitHub returned for every request (keyed by client method and
+ * query string, so per query and page) together with the decoded body. Refreshes are sent as conditional requests
+ * and a 304 Not Modified answer is turned back into the stored body, which saves the payload. Only authorized
+ * calls are spared from the rate limit by a 304, so SearchRateLimiter still takes a token for every request.
+ * */
+@Component
+public class ConditionalRequestCache {
+    private static final String ETAG = "ETag";
+    private static final String LAST_MODIFIED = "Last-Modified";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+    private static final int NOT_MODIFIED = 304;
+
+    private final boolean enabled;
+    private final Cache<String, ValidatedBody> validatedBodies;
+    private final Counter notModifiedResponses;
+
+    public ConditionalRequestCache(ConditionalRequestConfigurationProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.validatedBodies = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .build();
+        this.notModifiedResponses = Counter.builder("github.search.not.modified")
+                .description("GitHub responses answered with 304 Not Modified and served from the stored body")
+                .register(meterRegistry);
+    }
+
+    /*
+     * Request interceptor step: adds the stored validators to the outgoing request.
+     * */
+    public void addValidators(RequestTemplate template) {
+        if (!enabled) {
+            return;
+        }
+        var validatedBody = validatedBodies.getIfPresent(keyOf(template));
+        if (validatedBody == null) {
+            return;
+        }
+        if (validatedBody.etag() != null) {
+            template.header(IF_NONE_MATCH, validatedBody.etag());
+        }
+        if (validatedBody.lastModified() != null) {
+            template.header(IF_MODIFIED_SINCE, validatedBody.lastModified());
+        }
+    }
+
+    /*
+     * Response interceptor step: a 304 is answered with the stored body instead of reaching the error decoder,
+     * any other response is decoded as usual and stored when GitHub sent validators with it.
+     * */
+    public Object reuseNotModified(InvocationContext context, ResponseInterceptor.Chain chain) throws Exception {
+        Response response = context.response();
+        if (!enabled) {
+            return chain.next(context);
+        }
+        String key = keyOf(response.request().requestTemplate());
+        if (response.status() == NOT_MODIFIED) {
+            var validatedBody = validatedBodies.getIfPresent(key);
+            if (validatedBody != null) {
+                response.close();
+                notModifiedResponses.increment();
+                return validatedBody.body();
+            }
+        }
+
+        Object body = chain.next(context);
+        String etag = firstHeader(response, ETAG);
+        String lastModified = firstHeader(response, LAST_MODIFIED);
+        if (body != null && response.status() / 100 == 2 && (etag != null || lastModified != null)) {
+            validatedBodies.put(key, new ValidatedBody(etag, lastModified, body));
+        }
+        return body;
+    }
+
+    private static String keyOf(RequestTemplate template) {
+        String method = template.methodMetadata() == null ? "" : template.methodMetadata().configKey();
+        return method + template.queryLine();
+    }
+
+    private static String firstHeader(Response response, String name) {
+        Collection<String> values = response.headers().get(name);
+        return values == null || values.isEmpty() ? null : values.iterator().next();
+    }
+
+    private record ValidatedBody(String etag, String lastModified, Object body) {
+    }
+}
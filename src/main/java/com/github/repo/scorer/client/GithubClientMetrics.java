@@ -0,0 +1,129 @@
+package com.github.repo.scorer.client;
+
+import com.github.repo.scorer.metrics.LanguageTags;
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.codec.Decoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * Feign capability timing every GitHub search call as github.search.requests, tagged with the HTTP status (the
+ * status a FeignException carries, IO_ERROR when no response arrived) and the capped language of the search query,
+ * and the decoding of response bodies as json.deserialization. Calls answered from the conditional request cache
+ * are timed like any other 304 and never reach the decoder.
+ *
+ * The java.net.http client publishes no statistics of its connection pool, so its utilization is approximated by
+ * the calls in flight (github.http.requests.active) and by github.http.responses, counting responses by negotiated
+ * protocol and content encoding: on HTTP/2 all calls in flight share one connection.
+ * */
+@Component
+public class GithubClientMetrics implements Capability {
+    private static final Pattern QUERY_PARAMETER = Pattern.compile("[?&]q=([^&]*)");
+    private static final Pattern LANGUAGE_QUALIFIER = Pattern.compile("(?:^|\\s)language:(\\S+)");
+    private static final String IO_ERROR = "IO_ERROR";
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+    private static final String IDENTITY = "identity";
+
+    private final MeterRegistry meterRegistry;
+    private final LanguageTags languageTags;
+    private final Timer deserialization;
+    private final AtomicInteger activeRequests = new AtomicInteger();
+
+    public GithubClientMetrics(MeterRegistry meterRegistry, LanguageTags languageTags) {
+        this.meterRegistry = meterRegistry;
+        this.languageTags = languageTags;
+        this.deserialization = Timer.builder("json.deserialization")
+                .description("Time spent decoding JSON bodies")
+                .tag("source", "github")
+                .register(meterRegistry);
+        Gauge.builder("github.http.requests.active", activeRequests, AtomicInteger::get)
+                .description("GitHub calls waiting for their response")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            long start = System.nanoTime();
+            String status = IO_ERROR;
+            activeRequests.incrementAndGet();
+            try {
+                Response response = client.execute(request, options);
+                status = String.valueOf(response.status());
+                countResponse(response);
+                return response;
+            } finally {
+                activeRequests.decrementAndGet();
+                Timer.builder("github.search.requests")
+                        .description("GitHub search API calls")
+                        .tag("status", status)
+                        .tag("language", languageTags.tag(language(request)))
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    @Override
+    public Decoder enrich(Decoder decoder) {
+        return (response, type) -> {
+            long start = System.nanoTime();
+            try {
+                return decoder.decode(response, type);
+            } finally {
+                deserialization.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    private void countResponse(Response response) {
+        Collection<String> encodings = response.headers().get(CONTENT_ENCODING);
+        Counter.builder("github.http.responses")
+                .description("GitHub responses by negotiated protocol and content encoding")
+                .tag("protocol", String.valueOf(response.protocolVersion()))
+                .tag("encoding", encodingTag(encodings))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /*
+     * Only the encodings the client can decode get their own tag value.
+     * */
+    private static String encodingTag(Collection<String> encodings) {
+        if (encodings == null || encodings.isEmpty()) {
+            return IDENTITY;
+        }
+        String encoding = encodings.iterator().next().trim().toLowerCase(Locale.ROOT);
+        return switch (encoding) {
+            case "gzip", "deflate", IDENTITY -> encoding;
+            default -> "other";
+        };
+    }
+
+    /*
+     * The language: qualifier of the q parameter, null for searches across all languages.
+     * */
+    static String language(Request request) {
+        Matcher query = QUERY_PARAMETER.matcher(request.url());
+        if (!query.find()) {
+            return null;
+        }
+        Matcher language = LANGUAGE_QUALIFIER.matcher(URLDecoder.decode(query.group(1), StandardCharsets.UTF_8));
+        return language.find() ? language.group(1) : null;
+    }
+}
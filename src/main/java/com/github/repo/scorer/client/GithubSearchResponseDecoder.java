@@ -0,0 +1,152 @@
+package com.github.repo.scorer.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.github.repo.scorer.model.SearchRepositoriesResponse;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Decodes GitHub search responses with Jackson's streaming parser straight into the compact Repository records.
+ * Only the eight item fields the service reads are materialized: owner, license, topics, the url fields and every
+ * other value are skipped token by token without creating strings, and there is no databind machinery in between
+ * (no property buffers, no boxed numbers). Items are scored later, not here, because cached pages are scored again
+ * with whatever weights or formula the request uses.
+ *
+ * Languages repeat on every item of a page and are shared instead of copied. Missing, null and unparseable values
+ * decode like with databind: 0 for numbers, null for strings, GithubTimestamps.UNKNOWN for timestamps. Any other
+ * type is left to the delegate decoder.
+ * */
+public class GithubSearchResponseDecoder implements Decoder {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final Decoder delegate;
+
+    public GithubSearchResponseDecoder(Decoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        if (type != SearchRepositoriesResponse.class) {
+            return delegate.decode(response, type);
+        }
+        if (response.body() == null) {
+            return null;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(response.body().asInputStream())) {
+            return readResponse(parser);
+        } catch (JsonProcessingException e) {
+            throw new DecodeException(response.status(), "Could not decode GitHub search response: "
+                    + e.getOriginalMessage(), response.request(), e);
+        }
+    }
+
+    private static SearchRepositoriesResponse readResponse(JsonParser parser) throws IOException {
+        expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+        int totalCount = 0;
+        List<Repository> items = null;
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "total_count" -> totalCount = intValue(parser, value);
+                case "items" -> items = readItems(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+        return new SearchRepositoriesResponse(totalCount, items);
+    }
+
+    private static List<Repository> readItems(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(parser, value, JsonToken.START_ARRAY);
+        var items = new ArrayList<Repository>();
+        String previousLanguage = null;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            var repository = readItem(parser, previousLanguage);
+            previousLanguage = repository.language();
+            items.add(repository);
+        }
+        return items;
+    }
+
+    private static Repository readItem(JsonParser parser, String previousLanguage) throws IOException {
+        expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+        int id = 0;
+        String name = null;
+        String description = null;
+        long createdAt = GithubTimestamps.UNKNOWN;
+        long pushedAt = GithubTimestamps.UNKNOWN;
+        int forks = 0;
+        int stars = 0;
+        String language = null;
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> id = intValue(parser, value);
+                case "name" -> name = stringValue(parser, value);
+                case "description" -> description = stringValue(parser, value);
+                case "created_at" -> createdAt = GithubTimestampDeserializer.readEpochSecond(parser);
+                case "pushed_at" -> pushedAt = GithubTimestampDeserializer.readEpochSecond(parser);
+                case "forks_count" -> forks = intValue(parser, value);
+                case "stargazers_count" -> stars = intValue(parser, value);
+                case "language" -> language = languageValue(parser, value, previousLanguage);
+                default -> parser.skipChildren();
+            }
+        }
+        return new Repository(id, name, description, createdAt, pushedAt, forks, stars, language);
+    }
+
+    private static int intValue(JsonParser parser, JsonToken value) throws IOException {
+        if (value.isStructStart()) {
+            parser.skipChildren();
+            return 0;
+        }
+        return parser.getValueAsInt();
+    }
+
+    private static String stringValue(JsonParser parser, JsonToken value) throws IOException {
+        if (value.isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getValueAsString();
+    }
+
+    /*
+     * Compares the characters in the parser's buffer with the language of the previous item before creating a string.
+     * */
+    private static String languageValue(JsonParser parser, JsonToken value, String previousLanguage) throws IOException {
+        if (value != JsonToken.VALUE_STRING || previousLanguage == null
+                || parser.getTextLength() != previousLanguage.length()) {
+            return stringValue(parser, value);
+        }
+        char[] text = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        for (int i = 0; i < previousLanguage.length(); i++) {
+            if (text[offset + i] != previousLanguage.charAt(i)) {
+                return parser.getText();
+            }
+        }
+        return previousLanguage;
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " but found " + actual);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.repo.scorer.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/*
+ * Decodes a GitHub timestamp string into epoch seconds straight from the parser's character buffer, without
+ * materializing the string. Missing, null and unparseable values become GithubTimestamps.UNKNOWN.
+ * */
+public class GithubTimestampDeserializer extends StdDeserializer<Long> {
+    private static final Logger log = LoggerFactory.getLogger(GithubTimestampDeserializer.class);
+
+    public GithubTimestampDeserializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        return readEpochSecond(parser);
+    }
+
+    /*
+     * Reads the timestamp at the current token, also used by the streaming GithubSearchResponseDecoder.
+     * */
+    static long readEpochSecond(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return GithubTimestamps.UNKNOWN;
+        }
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            log.error("Could not parse GitHub timestamp of type: {}", parser.currentToken());
+            parser.skipChildren();
+            return GithubTimestamps.UNKNOWN;
+        }
+        try {
+            return GithubTimestamps.parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        } catch (IllegalArgumentException e) {
+            log.error("Could not parse GitHub timestamp: {}", parser.getText());
+            return GithubTimestamps.UNKNOWN;
+        }
+    }
+
+    @Override
+    public Long getNullValue(DeserializationContext context) {
+        return GithubTimestamps.UNKNOWN;
+    }
+}
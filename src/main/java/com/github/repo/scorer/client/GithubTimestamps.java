@@ -0,0 +1,125 @@
+package com.github.repo.scorer.client;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/*
+ * GitHub sends every timestamp as yyyy-MM-ddTHH:mm:ssZ. That exact shape is parsed and formatted with plain
+ * arithmetic on the characters, anything else (fractions, offsets, other years) goes through java.time.
+ * Timestamps are kept as epoch seconds, UNKNOWN stands for a missing or unparseable value.
+ * */
+public final class GithubTimestamps {
+    public static final long UNKNOWN = Long.MIN_VALUE;
+    public static final int SECONDS_PER_DAY = 86_400;
+    private static final int FIXED_LENGTH = 20;
+
+    private GithubTimestamps() {
+    }
+
+    public static long parse(String text) {
+        if (text == null) {
+            return UNKNOWN;
+        }
+        return parse(text.toCharArray(), 0, text.length());
+    }
+
+    /*
+     * Throws IllegalArgumentException when the text is not an ISO-8601 instant.
+     * */
+    public static long parse(char[] text, int offset, int length) {
+        if (length == FIXED_LENGTH
+                && text[offset + 4] == '-' && text[offset + 7] == '-' && text[offset + 10] == 'T'
+                && text[offset + 13] == ':' && text[offset + 16] == ':' && text[offset + 19] == 'Z') {
+            int year = digits(text, offset, 4);
+            int month = digits(text, offset + 5, 2);
+            int day = digits(text, offset + 8, 2);
+            int hour = digits(text, offset + 11, 2);
+            int minute = digits(text, offset + 14, 2);
+            int second = digits(text, offset + 17, 2);
+            if (year >= 0 && month >= 1 && month <= 12 && day >= 1 && day <= monthLength(year, month)
+                    && hour >= 0 && hour < 24 && minute >= 0 && minute < 60 && second >= 0 && second < 60) {
+                return daysFromCivil(year, month, day) * SECONDS_PER_DAY + hour * 3600L + minute * 60L + second;
+            }
+        }
+        try {
+            return Instant.parse(new String(text, offset, length)).getEpochSecond();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Not an ISO-8601 timestamp: " + new String(text, offset, length), e);
+        }
+    }
+
+    public static String format(long epochSecond) {
+        if (epochSecond == UNKNOWN) {
+            return null;
+        }
+        long epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+
+        long z = epochDay + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        int dayOfEra = (int) (z - era * 146_097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 0 || year > 9999) {
+            return Instant.ofEpochSecond(epochSecond).toString();
+        }
+
+        char[] out = new char[FIXED_LENGTH];
+        writeDigits(out, 0, (int) year, 4);
+        out[4] = '-';
+        writeDigits(out, 5, month, 2);
+        out[7] = '-';
+        writeDigits(out, 8, day, 2);
+        out[10] = 'T';
+        writeDigits(out, 11, secondOfDay / 3600, 2);
+        out[13] = ':';
+        writeDigits(out, 14, secondOfDay / 60 % 60, 2);
+        out[16] = ':';
+        writeDigits(out, 17, secondOfDay % 60, 2);
+        out[19] = 'Z';
+        return new String(out);
+    }
+
+    private static int digits(char[] text, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = text[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static void writeDigits(char[] out, int offset, int value, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            out[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static int monthLength(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /*
+     * Days since 1970-01-01 of a proleptic Gregorian date, see https://howardhinnant.github.io/date_algorithms.html
+     * */
+    private static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468;
+    }
+}
@@ -1,11 +1,25 @@
 package com.github.repo.scorer.client;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+/*
+ * created_at and pushed_at are epoch seconds decoded from GitHub's timestamps while the response is parsed,
+ * GithubTimestamps.UNKNOWN when GitHub did not send a usable value.
+ * */
 public record Repository(int id,
                          String name,
                          String description,
-                         String created_at,
-                         String pushed_at,
+                         @JsonDeserialize(using = GithubTimestampDeserializer.class)
+                         long created_at,
+                         @JsonDeserialize(using = GithubTimestampDeserializer.class)
+                         long pushed_at,
                          int forks_count,
                          int stargazers_count,
                          String language) {
+
+    public Repository(int id, String name, String description, String created_at, String pushed_at,
+                      int forks_count, int stargazers_count, String language) {
+        this(id, name, description, GithubTimestamps.parse(created_at), GithubTimestamps.parse(pushed_at),
+                forks_count, stargazers_count, language);
+    }
 }
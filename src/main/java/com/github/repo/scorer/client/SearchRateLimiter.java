@@ -0,0 +1,224 @@
+package com.github.repo.scorer.client;
+
+import com.github.repo.scorer.config.SearchRateLimitConfigurationProperties;
+import com.github.repo.scorer.exception.TooManyRequestsException;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Client side budget for the GitHub search API. Every outgoing search takes a token; the bucket is refilled when the
+ * rate limit window resets and is corrected from the X-RateLimit-Limit / -Remaining / -Reset and Retry-After headers
+ * of every GitHub response. A request that finds the bucket empty waits in a local queue for the next token as long
+ * as that fits into max-wait and the queue is not full, otherwise it is shed before it reaches GitHub.
+ *
+ * Until GitHub has answered once, the configured limit and window are assumed.
+ *
+ * A conditional request answered with 304 keeps its token: GitHub only leaves 304s out of the rate limit for
+ * authorized requests, and searches are sent without credentials. Should GitHub not count one anyway, the
+ * X-RateLimit-Remaining of the next window corrects the budget.
+ * */
+@Component
+public class SearchRateLimiter {
+    private static final Logger log = LoggerFactory.getLogger(SearchRateLimiter.class);
+    private static final String RATE_LIMIT_LIMIT = "X-RateLimit-Limit";
+    private static final String RATE_LIMIT_REMAINING = "X-RateLimit-Remaining";
+    private static final String RATE_LIMIT_RESET = "X-RateLimit-Reset";
+    private static final String RETRY_AFTER = "Retry-After";
+    private static final String RATE_LIMITED_MESSAGE = "GitHub search rate limit reached, please try again later.";
+
+    private final boolean enabled;
+    private final long windowMillis;
+    private final long maxWaitNanos;
+    private final int maxQueued;
+    private final Counter shedRequests;
+
+    /* guarded by lock */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition budgetChanged = lock.newCondition();
+    private int limit;
+    private int remaining;
+    private long resetAtMillis;
+    private long reportedResetEpochSecond;
+    private long blockedUntilMillis;
+    private int queued;
+
+    public SearchRateLimiter(SearchRateLimitConfigurationProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.windowMillis = properties.window().toMillis();
+        this.maxWaitNanos = properties.maxWait().toNanos();
+        this.maxQueued = properties.maxQueued();
+        this.limit = properties.limit();
+        this.remaining = properties.limit();
+        this.resetAtMillis = System.currentTimeMillis() + windowMillis;
+
+        Gauge.builder("github.search.rate.limit.remaining", this, SearchRateLimiter::remaining)
+                .description("GitHub search requests left in the current rate limit window")
+                .register(meterRegistry);
+        Gauge.builder("github.search.rate.limit.queued", this, SearchRateLimiter::queued)
+                .description("Searches waiting locally for GitHub rate limit budget")
+                .register(meterRegistry);
+        this.shedRequests = Counter.builder("github.search.rate.limit.shed")
+                .description("Searches rejected locally because no GitHub rate limit budget was available in time")
+                .register(meterRegistry);
+    }
+
+    /*
+     * Takes one token, waiting for the window reset or Retry-After to pass when the bucket is empty.
+     * Throws TooManyRequestsException instead of waiting longer than max-wait or queueing beyond max-queued.
+     * */
+    public void acquire() {
+        if (!enabled) {
+            return;
+        }
+        long deadline = System.nanoTime() + maxWaitNanos;
+        boolean waiting = false;
+        lock.lock();
+        try {
+            while (true) {
+                long now = System.currentTimeMillis();
+                refillIfWindowElapsed(now);
+                long availableAt = Math.max(blockedUntilMillis, remaining > 0 ? now : resetAtMillis);
+                if (availableAt <= now) {
+                    remaining--;
+                    return;
+                }
+
+                long waitNanos = TimeUnit.MILLISECONDS.toNanos(availableAt - now);
+                if (waitNanos > deadline - System.nanoTime() || (!waiting && queued >= maxQueued)) {
+                    shedRequests.increment();
+                    log.warn("Shedding GitHub search, rate limit budget available again in {} ms", availableAt - now);
+                    throw new TooManyRequestsException(RATE_LIMITED_MESSAGE);
+                }
+                if (!waiting) {
+                    waiting = true;
+                    queued++;
+                }
+                budgetChanged.awaitNanos(waitNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TooManyRequestsException(RATE_LIMITED_MESSAGE);
+        } finally {
+            if (waiting) {
+                queued--;
+            }
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Reconciles the local bucket with the rate limit headers of a GitHub response. A reset later than any seen
+     * before starts a new window with GitHub's remaining count; within a known window the lower of the local and
+     * reported counts wins, because responses to concurrent requests may report a budget already spent locally.
+     * */
+    public void update(Response response) {
+        if (!enabled) {
+            return;
+        }
+        Long reportedLimit = longHeader(response, RATE_LIMIT_LIMIT);
+        Long reportedRemaining = longHeader(response, RATE_LIMIT_REMAINING);
+        Long reportedReset = longHeader(response, RATE_LIMIT_RESET);
+        long retryAfterMillis = retryAfterMillis(response);
+        if (reportedLimit == null && reportedRemaining == null && reportedReset == null && retryAfterMillis < 0) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            if (reportedLimit != null) {
+                limit = reportedLimit.intValue();
+            }
+            if (reportedReset != null && reportedReset > reportedResetEpochSecond) {
+                reportedResetEpochSecond = reportedReset;
+                resetAtMillis = TimeUnit.SECONDS.toMillis(reportedReset);
+                if (reportedRemaining != null) {
+                    remaining = reportedRemaining.intValue();
+                }
+            } else if (reportedRemaining != null) {
+                remaining = Math.min(remaining, reportedRemaining.intValue());
+            }
+            if (retryAfterMillis >= 0) {
+                blockedUntilMillis = Math.max(blockedUntilMillis, System.currentTimeMillis() + retryAfterMillis);
+            }
+            budgetChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int remaining() {
+        lock.lock();
+        try {
+            refillIfWindowElapsed(System.currentTimeMillis());
+            return remaining;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int queued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refillIfWindowElapsed(long now) {
+        if (now >= resetAtMillis) {
+            remaining = limit;
+            resetAtMillis = now + windowMillis;
+        }
+    }
+
+    private static Long longHeader(Response response, String name) {
+        String value = firstHeader(response, name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /*
+     * Retry-After is either a number of seconds or an HTTP date; -1 when absent or unreadable.
+     * */
+    private static long retryAfterMillis(Response response) {
+        String value = firstHeader(response, RETRY_AFTER);
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            try {
+                long retryAt = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+                return Math.max(0, retryAt - System.currentTimeMillis());
+            } catch (DateTimeParseException ignored) {
+                return -1;
+            }
+        }
+    }
+
+    private static String firstHeader(Response response, String name) {
+        Collection<String> values = response.headers().get(name);
+        return values == null || values.isEmpty() ? null : values.iterator().next();
+    }
+}
@@ -1,17 +1,112 @@
 package com.github.repo.scorer.config;
 
+import com.github.repo.scorer.client.ConditionalRequestCache;
+import com.github.repo.scorer.client.GithubSearchResponseDecoder;
+import com.github.repo.scorer.client.SearchRateLimiter;
+import feign.Request;
 import feign.RequestInterceptor;
+import feign.ResponseInterceptor;
+import feign.codec.Decoder;
+import feign.optionals.OptionalDecoder;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.clientconfig.http2client.Http2ClientCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.net.http.HttpClient;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class GithubFeignClientConfig {
 
     private static final String ACCEPT_HEADER_KEY = "Accept";
     private static final String ACCEPT_HEADER_VALUE = "application/vnd.github+json";
+    private static final String ACCEPT_ENCODING_HEADER_KEY = "Accept-Encoding";
+    private static final String ACCEPT_ENCODING_HEADER_VALUE = "gzip";
 
     @Bean
     public RequestInterceptor githubAcceptHeaderInterceptor() {
         return requestTemplate -> requestTemplate.header(ACCEPT_HEADER_KEY, ACCEPT_HEADER_VALUE);
     }
+
+    /*
+     * Only gzip is asked for: the Feign Http2Client inflates gzip (and deflate) bodies while they are read, but
+     * brotli has no decoder in the JDK.
+     * */
+    @Bean
+    public RequestInterceptor githubAcceptEncodingInterceptor(GithubHttpClientConfigurationProperties properties) {
+        return requestTemplate -> {
+            if (properties.compression()) {
+                requestTemplate.header(ACCEPT_ENCODING_HEADER_KEY, ACCEPT_ENCODING_HEADER_VALUE);
+            }
+        };
+    }
+
+    @Bean
+    public RequestInterceptor githubConditionalRequestInterceptor(ConditionalRequestCache conditionalRequestCache) {
+        return conditionalRequestCache::addValidators;
+    }
+
+    @Bean
+    public RequestInterceptor githubRateLimitInterceptor(SearchRateLimiter searchRateLimiter) {
+        return requestTemplate -> searchRateLimiter.acquire();
+    }
+
+    /*
+     * Spring Cloud OpenFeign wires a single ResponseInterceptor, so the rate limit bookkeeping and the
+     * conditional request handling are chained here. Rate limit headers are read from every response, 304s included.
+     * */
+    @Bean
+    public ResponseInterceptor githubResponseInterceptor(SearchRateLimiter searchRateLimiter,
+                                                         ConditionalRequestCache conditionalRequestCache) {
+        ResponseInterceptor rateLimitUpdate = (context, chain) -> {
+            searchRateLimiter.update(context.response());
+            return chain.next(context);
+        };
+        return rateLimitUpdate.andThen(conditionalRequestCache::reuseNotModified);
+    }
+
+    /*
+     * Search responses are decoded by the streaming decoder, anything else by the decoder chain Spring Cloud
+     * OpenFeign would have configured.
+     * */
+    @Bean
+    public Decoder githubDecoder(ObjectFactory<HttpMessageConverters> messageConverters,
+                                 ObjectProvider<HttpMessageConverterCustomizer> customizers) {
+        return new GithubSearchResponseDecoder(
+                new OptionalDecoder(new ResponseEntityDecoder(new SpringDecoder(messageConverters, customizers))));
+    }
+
+    /*
+     * The read timeout bounds every GitHub call. Connect timeout and redirect handling have to be the same here and
+     * on the HttpClient below: for options that differ from its HttpClient, Feign's Http2Client builds a second,
+     * softly referenced HttpClient without any of the customizations, whose pooled connections are lost whenever
+     * it is collected.
+     * */
+    @Bean
+    public Request.Options githubRequestOptions(GithubHttpClientConfigurationProperties properties) {
+        return new Request.Options(properties.connectTimeout().toMillis(), TimeUnit.MILLISECONDS,
+                properties.readTimeout().toMillis(), TimeUnit.MILLISECONDS, true);
+    }
+
+    /*
+     * Feign runs on the java.net.http client, which parks the calling virtual thread while waiting for the
+     * response instead of pinning its carrier. Its internal response handling also runs on virtual threads.
+     * The single client keeps its connections alive and reuses them, multiplexing concurrent searches over one
+     * connection once GitHub has negotiated HTTP/2.
+     * */
+    @Bean
+    public Http2ClientCustomizer githubHttpClientCustomizer(GithubHttpClientConfigurationProperties properties) {
+        return builder -> builder
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.connectTimeout())
+                .followRedirects(HttpClient.Redirect.ALWAYS);
+    }
 }
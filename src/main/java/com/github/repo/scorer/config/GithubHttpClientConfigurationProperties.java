@@ -0,0 +1,11 @@
+package com.github.repo.scorer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "github.http")
+public record GithubHttpClientConfigurationProperties(Duration connectTimeout,
+                                                      Duration readTimeout,
+                                                      boolean compression) {
+}
@@ -0,0 +1,13 @@
+package com.github.repo.scorer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/*
+ * languageTags are the languages that get a language metric tag value of their own, every other language is
+ * tagged "other".
+ * */
+@ConfigurationProperties(prefix = "repository.metrics")
+public record MetricsConfigurationProperties(List<String> languageTags) {
+}
@@ -0,0 +1,85 @@
+package com.github.repo.scorer.config;
+
+import com.github.repo.scorer.cache.PopularSearches;
+import com.github.repo.scorer.cache.SearchCacheKey;
+import com.github.repo.scorer.client.GithubFeignClient;
+import com.github.repo.scorer.client.Repository;
+import com.github.repo.scorer.exception.ErrorResponse;
+import com.github.repo.scorer.model.BatchSearchItem;
+import com.github.repo.scorer.model.BatchSearchRequest;
+import com.github.repo.scorer.model.BatchSearchResponse;
+import com.github.repo.scorer.model.BatchSearchResult;
+import com.github.repo.scorer.model.CrawledRepositoriesResponse;
+import com.github.repo.scorer.model.ScoredRepositoriesResponse;
+import com.github.repo.scorer.model.ScoredRepositoriesTrailer;
+import com.github.repo.scorer.model.ScoredRepository;
+import com.github.repo.scorer.model.ScoringWeightsResponse;
+import com.github.repo.scorer.model.SearchRepositoriesResponse;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+
+/*
+ * Reflection and proxy hints for the native image, on top of what Spring's AOT processing derives by itself.
+ *
+ * Jackson needs the record constructors and accessors of everything written or read outside of a controller method
+ * signature (NDJSON lines, the batch results, the JSON snapshot files). Feign implements the GitHub client as a JDK
+ * proxy and reads the mapping annotations of its methods at runtime. The configuration properties records are bound
+ * through their constructors; Spring Boot registers them during AOT processing as well, they are listed here so that
+ * a record added outside of @ConfigurationPropertiesScan is not silently left unbound.
+ * */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+    private static final List<Class<?>> JSON_TYPES = List.of(
+            Repository.class,
+            SearchRepositoriesResponse.class,
+            ScoredRepository.class,
+            ScoredRepositoriesResponse.class,
+            ScoredRepositoriesTrailer.class,
+            CrawledRepositoriesResponse.class,
+            BatchSearchItem.class,
+            BatchSearchRequest.class,
+            BatchSearchResult.class,
+            BatchSearchResponse.class,
+            ScoringWeightsResponse.class,
+            ErrorResponse.class,
+            SearchCacheKey.class,
+            PopularSearches.PopularSearch.class);
+
+    /* package-private records of the repository index snapshot file */
+    private static final List<String> INDEX_SNAPSHOT_TYPES = List.of(
+            "com.github.repo.scorer.index.RepositoryIndex$IndexSnapshot",
+            "com.github.repo.scorer.index.RepositoryIndex$LanguageSnapshot",
+            "com.github.repo.scorer.index.RepositoryIndex$IndexedRepository");
+
+    private static final List<Class<?>> CONFIGURATION_PROPERTIES = List.of(
+            ConditionalRequestConfigurationProperties.class,
+            GithubHttpClientConfigurationProperties.class,
+            MetricsConfigurationProperties.class,
+            RepositoryIndexConfigurationProperties.class,
+            RepositoryScorerConfigurationProperties.class,
+            SearchCacheConfigurationProperties.class,
+            SearchCacheSnapshotConfigurationProperties.class,
+            SearchCrawlConfigurationProperties.class,
+            SearchFanOutConfigurationProperties.class,
+            SearchPeerConfigurationProperties.class,
+            SearchPrefetchConfigurationProperties.class,
+            SearchRateLimitConfigurationProperties.class);
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        var bindingHints = new BindingReflectionHintsRegistrar();
+        bindingHints.registerReflectionHints(hints.reflection(), JSON_TYPES.toArray(Class<?>[]::new));
+        for (String type : INDEX_SNAPSHOT_TYPES) {
+            hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS, MemberCategory.DECLARED_FIELDS);
+        }
+        bindingHints.registerReflectionHints(hints.reflection(), CONFIGURATION_PROPERTIES.toArray(Class<?>[]::new));
+
+        hints.proxies().registerJdkProxy(GithubFeignClient.class);
+        hints.reflection().registerType(GithubFeignClient.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.repo.scorer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/*
+ * Queries are answered from the index only while its sync lags now by at most maxLag. A sync stops once the GitHub
+ * search budget is down to reservedBudget, which is left to user searches.
+ * */
+@ConfigurationProperties(prefix = "github.index")
+public record RepositoryIndexConfigurationProperties(boolean enabled,
+                                                     boolean serveQueries,
+                                                     Path path,
+                                                     List<String> languages,
+                                                     Duration initialLookback,
+                                                     Duration syncWindow,
+                                                     Duration syncInterval,
+                                                     Duration maxLag,
+                                                     int reservedBudget) {
+}
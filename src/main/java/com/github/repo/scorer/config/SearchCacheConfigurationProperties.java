@@ -0,0 +1,14 @@
+package com.github.repo.scorer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/*
+ * maxStale is how long after ttl a response may still be served as stale, staleWhileRevalidate whether stale
+ * responses are served right away while a background refresh runs (otherwise only when GitHub fails).
+ * */
+@ConfigurationProperties(prefix = "github.cache")
+public record SearchCacheConfigurationProperties(boolean enabled, Duration ttl, long maximumSize, Duration maxStale,
+                                                 boolean staleWhileRevalidate) {
+}
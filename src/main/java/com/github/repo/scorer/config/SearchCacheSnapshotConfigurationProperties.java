@@ -0,0 +1,12 @@
+package com.github.repo.scorer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "github.cache.snapshot")
+public record SearchCacheSnapshotConfigurationProperties(boolean enabled,
+                                                         Path path,
+                                                         Duration interval) {
+}
@@ -0,0 +1,7 @@
+package com.github.repo.scorer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "github.crawl")
+public record SearchCrawlConfigurationProperties(int maxCalls) {
+}
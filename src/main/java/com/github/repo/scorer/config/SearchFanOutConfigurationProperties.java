@@ -0,0 +1,7 @@
+package com.github.repo.scorer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "github.fan-out")
+public record SearchFanOutConfigurationProperties(int maxParallelism) {
+}
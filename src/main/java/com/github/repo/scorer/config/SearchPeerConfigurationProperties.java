@@ -0,0 +1,22 @@
+package com.github.repo.scorer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+/*
+ * self is the base URL other replicas reach this one at and members the base URLs of all replicas, the same list on
+ * every replica. A peer that could not be reached is not asked again for downFor. secret is shared by all replicas
+ * and sent with every peer request, and is required while the search cache is shared.
+ * */
+@ConfigurationProperties(prefix = "github.peers")
+public record SearchPeerConfigurationProperties(boolean enabled,
+                                                URI self,
+                                                List<URI> members,
+                                                int virtualNodes,
+                                                Duration timeout,
+                                                Duration downFor,
+                                                String secret) {
+}
@@ -0,0 +1,14 @@
+package com.github.repo.scorer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "github.prefetch")
+public record SearchPrefetchConfigurationProperties(boolean enabled,
+                                                    int topQueries,
+                                                    Duration interval,
+                                                    int reservedBudget,
+                                                    Path path) {
+}
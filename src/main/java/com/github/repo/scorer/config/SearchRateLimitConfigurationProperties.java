@@ -0,0 +1,13 @@
+package com.github.repo.scorer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "github.rate-limit")
+public record SearchRateLimitConfigurationProperties(boolean enabled,
+                                                     int limit,
+                                                     Duration window,
+                                                     Duration maxWait,
+                                                     int maxQueued) {
+}
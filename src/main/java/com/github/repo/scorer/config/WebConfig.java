@@ -0,0 +1,29 @@
+package com.github.repo.scorer.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    /*
+     * Lets error responses of the NDJSON streaming endpoints be written as a single JSON line, instead of failing
+     * content negotiation and surfacing as a generic 500.
+     * */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof MappingJackson2HttpMessageConverter jacksonConverter) {
+                var mediaTypes = new ArrayList<>(jacksonConverter.getSupportedMediaTypes());
+                mediaTypes.add(MediaType.APPLICATION_NDJSON);
+                jacksonConverter.setSupportedMediaTypes(mediaTypes);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.repo.scorer.controller;
+
+import com.github.repo.scorer.cache.SearchCachePeers;
+import com.github.repo.scorer.cache.SearchResultCacheSnapshot;
+import com.github.repo.scorer.model.PageRequest;
+import com.github.repo.scorer.model.SearchRepositoryQuery;
+import com.github.repo.scorer.service.RepositorySearchService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.time.LocalDate;
+import java.util.List;
+
+/*
+ * Serves the pages this replica owns to the other replicas sharing the search cache (see SearchCachePeers), as one
+ * entry in the search cache snapshot format. Not found while the cache is not shared or without the peer secret.
+ * The search is validated like GET /api/v1/repositories and its GitHub query is built here, so the endpoint cannot
+ * run any other GitHub search. No content when GitHub answered without a body.
+ * */
+@RestController
+@Validated
+public class PeerSearchController {
+    private final RepositorySearchService repositorySearchService;
+    private final SearchCachePeers searchPeers;
+
+    public PeerSearchController(RepositorySearchService repositorySearchService, SearchCachePeers searchPeers) {
+        this.repositorySearchService = repositorySearchService;
+        this.searchPeers = searchPeers;
+    }
+
+    @GetMapping(SearchCachePeers.PEER_SEARCH_PATH)
+    public ResponseEntity<byte[]> getCachedSearch(
+            @RequestHeader(name = SearchCachePeers.SECRET_HEADER, required = false)
+            String secret,
+            @RequestParam @NotBlank @Size(max = 50)
+            String language,
+            @RequestParam(name = "created_after")
+            @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate createdAfter,
+            @RequestParam @Min(1)
+            int page,
+            @RequestParam(name = "page_size") @Min(1) @Max(100)
+            int pageSize
+    ) {
+        if (!searchPeers.authorized(secret)) {
+            return ResponseEntity.notFound().build();
+        }
+        var search = repositorySearchService.searchForPeer(
+                new SearchRepositoryQuery(language, createdAfter.toString()), new PageRequest(pageSize, page));
+        if (search.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        var body = new ByteArrayOutputStream();
+        try {
+            SearchResultCacheSnapshot.write(Channels.newChannel(body), List.of(search.get()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(body.toByteArray());
+    }
+}
@@ -1,32 +1,59 @@
 package com.github.repo.scorer.controller;
 
+import com.github.repo.scorer.model.BatchSearchRequest;
+import com.github.repo.scorer.model.BatchSearchResponse;
+import com.github.repo.scorer.model.BatchSearchResult;
+import com.github.repo.scorer.model.CrawledRepositoriesResponse;
 import com.github.repo.scorer.model.PageRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.repo.scorer.model.ScoredRepositoriesResponse;
+import com.github.repo.scorer.model.ScoredRepositoriesTrailer;
+import com.github.repo.scorer.model.ScoredRepository;
 import com.github.repo.scorer.model.SearchRepositoryQuery;
 import com.github.repo.scorer.model.SearchRepositoryRequest;
+import com.github.repo.scorer.exception.ErrorResponse;
 import com.github.repo.scorer.service.RepositorySearchService;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.validation.constraints.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1")
 @Validated
 public class RepositoryController {
     private static final Logger log = LoggerFactory.getLogger(RepositoryController.class);
+    private static final byte NEW_LINE = '\n';
     private final RepositorySearchService repositorySearchService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
-    public RepositoryController(RepositorySearchService repositorySearchService) {
+    public RepositoryController(RepositorySearchService repositorySearchService, ObjectMapper objectMapper,
+                                Validator validator) {
         this.repositorySearchService = repositorySearchService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
     }
 
     @GetMapping("/repositories")
@@ -39,14 +66,136 @@ public class RepositoryController {
             @RequestParam(required = false, defaultValue = "1") @Min(1)
             Integer page,
             @RequestParam(name = "page_size", required = false, defaultValue = "100") @Min(1) @Max(value = 100)
-            Integer pageSize
+            Integer pageSize,
+            @RequestParam(required = false) @Size(max = 200)
+            String formula
     ) {
         var searchRequest = new SearchRepositoryRequest(
                 new SearchRepositoryQuery(language, createdAfter.toString()),
-                new PageRequest(pageSize, page));
+                new PageRequest(pageSize, page),
+                formula);
 
         log.info("Received request to return scored repositories: {}", searchRequest);
 
         return ResponseEntity.ok(repositorySearchService.searchAndScore(searchRequest));
     }
+
+    /*
+     * Runs several /repositories searches in one request. Every search gets its own result or error, so an invalid
+     * or failing search does not fail the others.
+     * */
+    @PostMapping("/repositories/batch")
+    public ResponseEntity<BatchSearchResponse> getRepositoriesBatch(@RequestBody @Valid BatchSearchRequest batchRequest) {
+        var searches = batchRequest.searches();
+        var results = new BatchSearchResult[searches.size()];
+        var requests = new ArrayList<SearchRepositoryRequest>(searches.size());
+        var positions = new ArrayList<Integer>(searches.size());
+        for (int i = 0; i < searches.size(); i++) {
+            var violations = validator.validate(searches.get(i));
+            if (violations.isEmpty()) {
+                requests.add(searches.get(i).toSearchRequest());
+                positions.add(i);
+            } else {
+                int index = i;
+                List<String> errors = violations.stream()
+                        .map(cv -> "searches[" + index + "]." + cv.getPropertyPath() + ": " + cv.getMessage())
+                        .sorted()
+                        .toList();
+                results[i] = BatchSearchResult.failed(
+                        new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "Validation failed", errors));
+            }
+        }
+
+        log.info("Received batch request with {} searches, {} invalid", searches.size(), searches.size() - requests.size());
+
+        var searched = repositorySearchService.searchAndScoreAll(requests);
+        for (int i = 0; i < searched.size(); i++) {
+            results[positions.get(i)] = searched.get(i);
+        }
+        return ResponseEntity.ok(new BatchSearchResponse(Arrays.asList(results)));
+    }
+
+    @GetMapping(value = "/repositories/top", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ScoredRepositoriesResponse> getTopRepositories(
+            @RequestParam @NotBlank @Size(max = 50)
+            String language,
+            @RequestParam(name = "created_after")
+            @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate createdAfter,
+            @RequestParam(required = false, defaultValue = "100") @Min(1) @Max(value = 1000)
+            Integer limit
+    ) {
+        var query = new SearchRepositoryQuery(language, createdAfter.toString());
+
+        log.info("Received request to return top {} scored repositories: {}", limit, query);
+
+        return ResponseEntity.ok(repositorySearchService.searchAndScoreTop(query, limit));
+    }
+
+    /*
+     * Crawl mode of the top repositories API: ranks the repositories of the whole created range instead of only the
+     * first 1000 GitHub returns, at the cost of more GitHub calls, which are reported in the response.
+     * */
+    @GetMapping("/repositories/crawl")
+    public ResponseEntity<CrawledRepositoriesResponse> crawlTopRepositories(
+            @RequestParam @NotBlank @Size(max = 50)
+            String language,
+            @RequestParam(name = "created_after")
+            @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate createdAfter,
+            @RequestParam(required = false, defaultValue = "100") @Min(1) @Max(value = 1000)
+            Integer limit
+    ) {
+        var query = new SearchRepositoryQuery(language, createdAfter.toString());
+
+        log.info("Received request to crawl top {} scored repositories: {}", limit, query);
+
+        return ResponseEntity.ok(repositorySearchService.crawlAndScoreTop(query, limit));
+    }
+
+    /*
+     * Streaming mode of the top repositories API: every scored repository is written as its own JSON line as soon
+     * as its GitHub page has been scored, followed by a last line holding the total_count. Lines are sorted by
+     * score within a page only.
+     * */
+    @GetMapping(value = "/repositories/top", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTopRepositories(
+            @RequestParam @NotBlank @Size(max = 50)
+            String language,
+            @RequestParam(name = "created_after")
+            @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate createdAfter,
+            @RequestParam(required = false, defaultValue = "100") @Min(1) @Max(value = 1000)
+            Integer limit
+    ) {
+        var query = new SearchRepositoryQuery(language, createdAfter.toString());
+
+        log.info("Received request to stream top {} scored repositories: {}", limit, query);
+
+        StreamingResponseBody body = outputStream -> {
+            ScoredRepositoriesTrailer trailer = repositorySearchService.streamScoredTop(query, limit,
+                    repositories -> writeLines(outputStream, repositories));
+            writeLine(outputStream, trailer);
+            outputStream.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private void writeLines(OutputStream outputStream, List<ScoredRepository> repositories) {
+        try {
+            for (ScoredRepository repository : repositories) {
+                writeLine(outputStream, repository);
+            }
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLine(OutputStream outputStream, Object value) throws IOException {
+        outputStream.write(objectMapper.writeValueAsBytes(value));
+        outputStream.write(NEW_LINE);
+    }
 }
@@ -0,0 +1,46 @@
+package com.github.repo.scorer.controller;
+
+import com.github.repo.scorer.config.RepositoryScorerConfigurationProperties;
+import com.github.repo.scorer.model.ScoringWeightsResponse;
+import com.github.repo.scorer.service.ReloadableRepositoryScorer;
+import com.github.repo.scorer.service.VersionedScorer;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/*
+ * Actuator endpoint at /actuator/scoring: GET returns the active weights and their version, POST with a JSON body
+ * {"starsWeight": .., "forksWeight": .., "updatedAtWeight": ..} activates new weights without a restart.
+ * */
+@Component
+@Endpoint(id = "scoring")
+public class ScoringWeightsEndpoint {
+    private final ReloadableRepositoryScorer reloadableScorer;
+
+    public ScoringWeightsEndpoint(ReloadableRepositoryScorer reloadableScorer) {
+        this.reloadableScorer = reloadableScorer;
+    }
+
+    @ReadOperation
+    public ScoringWeightsResponse weights() {
+        return toResponse(reloadableScorer.current());
+    }
+
+    @WriteOperation
+    public ScoringWeightsResponse updateWeights(double starsWeight, double forksWeight, double updatedAtWeight) {
+        try {
+            return toResponse(reloadableScorer.reload(
+                    new RepositoryScorerConfigurationProperties(starsWeight, forksWeight, updatedAtWeight)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+
+    private static ScoringWeightsResponse toResponse(VersionedScorer scorer) {
+        var weights = scorer.weights();
+        return new ScoringWeightsResponse(scorer.version(),
+                weights.starsWeight(), weights.forksWeight(), weights.updatedAtWeight());
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.repo.scorer.exception;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.http.HttpStatus;
 
 import java.util.List;
 
@@ -9,4 +10,23 @@ public record ErrorResponse(
         int status,
         String message,
         List<String> details
-){}
+){
+
+    /*
+     * The error GlobalExceptionHandler would answer with, for errors reported inside a response body such as the
+     * results of a batch. Unexpected exceptions do not expose their message.
+     * */
+    public static ErrorResponse of(RuntimeException exception) {
+        HttpStatus status = switch (exception) {
+            case BadRequestException e -> HttpStatus.BAD_REQUEST;
+            case UnprocessableEntityException e -> HttpStatus.UNPROCESSABLE_ENTITY;
+            case TooManyRequestsException e -> HttpStatus.TOO_MANY_REQUESTS;
+            case InternalServerErrorException e -> HttpStatus.INTERNAL_SERVER_ERROR;
+            default -> null;
+        };
+        if (status == null) {
+            return new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Internal server error", null);
+        }
+        return new ErrorResponse(status.value(), exception.getMessage(), null);
+    }
+}
@@ -0,0 +1,10 @@
+package com.github.repo.scorer.formula;
+
+/*
+ * Node of a compiled formula. Variables are passed as arguments, so evaluating a tree of nested lambdas needs no
+ * lookup, boxing or reflection per call.
+ * */
+@FunctionalInterface
+interface Expression {
+    double evaluate(double stars, double forks, double daysSinceUpdated, double daysSinceCreated);
+}
@@ -0,0 +1,314 @@
+package com.github.repo.scorer.formula;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/*
+ * Recursive descent parser that compiles a formula straight into a tree of Expression lambdas:
+ *
+ *   expression := term (('+' | '-') term)*
+ *   term       := unary (('*' | '/') unary)*
+ *   unary      := '-' unary | power
+ *   power      := primary ('^' unary)?
+ *   primary    := number | variable | function '(' expression (',' expression)* ')' | '(' expression ')'
+ *
+ * Variables are stars, forks, days_since_updated and days_since_created. Functions are log (natural), log10, sqrt,
+ * abs, min, max and pow. Subtrees without variables are folded into constants while compiling.
+ * Invalid formulas are rejected with IllegalArgumentException naming the position of the problem.
+ * */
+final class FormulaParser {
+    private final String formula;
+    private int position;
+
+    private FormulaParser(String formula) {
+        this.formula = formula;
+    }
+
+    static Expression compile(String formula) {
+        var parser = new FormulaParser(formula);
+        var expression = parser.expression();
+        parser.skipWhitespace();
+        if (parser.position < formula.length()) {
+            throw parser.error("Unexpected '" + formula.charAt(parser.position) + "'");
+        }
+        return expression.expression();
+    }
+
+    private Compiled expression() {
+        var left = term();
+        while (true) {
+            if (accept('+')) {
+                left = add(left, term());
+            } else if (accept('-')) {
+                left = subtract(left, term());
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Compiled term() {
+        var left = unary();
+        while (true) {
+            if (accept('*')) {
+                left = multiply(left, unary());
+            } else if (accept('/')) {
+                left = divide(left, unary());
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Compiled unary() {
+        if (accept('-')) {
+            return unary(unary(), a -> -a);
+        }
+        return power();
+    }
+
+    private Compiled power() {
+        var base = primary();
+        if (accept('^')) {
+            return binary(base, unary(), Math::pow);
+        }
+        return base;
+    }
+
+    private Compiled primary() {
+        skipWhitespace();
+        if (position >= formula.length()) {
+            throw error("Unexpected end of formula");
+        }
+        char next = formula.charAt(position);
+        if (accept('(')) {
+            var inner = expression();
+            expect(')');
+            return inner;
+        }
+        if (Character.isDigit(next) || next == '.') {
+            return number();
+        }
+        if (Character.isLetter(next)) {
+            int start = position;
+            String name = identifier();
+            skipWhitespace();
+            if (position < formula.length() && formula.charAt(position) == '(') {
+                return function(name, start);
+            }
+            return variable(name, start);
+        }
+        throw error("Unexpected '" + next + "'");
+    }
+
+    private Compiled number() {
+        int start = position;
+        while (position < formula.length()
+                && (Character.isDigit(formula.charAt(position)) || formula.charAt(position) == '.')) {
+            position++;
+        }
+        String number = formula.substring(start, position);
+        try {
+            return constant(Double.parseDouble(number));
+        } catch (NumberFormatException e) {
+            position = start;
+            throw error("Invalid number '" + number + "'");
+        }
+    }
+
+    private Compiled variable(String name, int start) {
+        return switch (name) {
+            case "stars" -> variable((stars, forks, updated, created) -> stars);
+            case "forks" -> variable((stars, forks, updated, created) -> forks);
+            case "days_since_updated" -> variable((stars, forks, updated, created) -> updated);
+            case "days_since_created" -> variable((stars, forks, updated, created) -> created);
+            default -> {
+                position = start;
+                throw error("Unknown variable '" + name + "'");
+            }
+        };
+    }
+
+    private Compiled function(String name, int start) {
+        expect('(');
+        List<Compiled> arguments = new ArrayList<>();
+        arguments.add(expression());
+        while (accept(',')) {
+            arguments.add(expression());
+        }
+        expect(')');
+
+        DoubleUnaryOperator unaryFunction = switch (name) {
+            case "log" -> Math::log;
+            case "log10" -> Math::log10;
+            case "sqrt" -> Math::sqrt;
+            case "abs" -> Math::abs;
+            default -> null;
+        };
+        DoubleBinaryOperator binaryFunction = switch (name) {
+            case "min" -> Math::min;
+            case "max" -> Math::max;
+            case "pow" -> Math::pow;
+            default -> null;
+        };
+        if (unaryFunction == null && binaryFunction == null) {
+            position = start;
+            throw error("Unknown function '" + name + "'");
+        }
+        int expectedArguments = unaryFunction != null ? 1 : 2;
+        if (arguments.size() != expectedArguments) {
+            position = start;
+            throw error("Function '" + name + "' takes " + expectedArguments + " argument(s)");
+        }
+        return unaryFunction != null
+                ? unary(arguments.get(0), unaryFunction)
+                : binary(arguments.get(0), arguments.get(1), binaryFunction);
+    }
+
+    /*
+     * The four arithmetic operators get their own lambdas, with a constant operand captured as a plain double,
+     * instead of going through a DoubleBinaryOperator: that saves an interface call per node and evaluation.
+     * */
+    private static Compiled add(Compiled left, Compiled right) {
+        if (left.constant() && right.constant()) {
+            return constant(left.value() + right.value());
+        }
+        Expression first = left.expression();
+        Expression second = right.expression();
+        if (right.constant()) {
+            double value = right.value();
+            return variable((stars, forks, updated, created) -> first.evaluate(stars, forks, updated, created) + value);
+        }
+        if (left.constant()) {
+            double value = left.value();
+            return variable((stars, forks, updated, created) -> value + second.evaluate(stars, forks, updated, created));
+        }
+        return variable((stars, forks, updated, created) ->
+                first.evaluate(stars, forks, updated, created) + second.evaluate(stars, forks, updated, created));
+    }
+
+    private static Compiled subtract(Compiled left, Compiled right) {
+        if (left.constant() && right.constant()) {
+            return constant(left.value() - right.value());
+        }
+        Expression first = left.expression();
+        Expression second = right.expression();
+        if (right.constant()) {
+            double value = right.value();
+            return variable((stars, forks, updated, created) -> first.evaluate(stars, forks, updated, created) - value);
+        }
+        if (left.constant()) {
+            double value = left.value();
+            return variable((stars, forks, updated, created) -> value - second.evaluate(stars, forks, updated, created));
+        }
+        return variable((stars, forks, updated, created) ->
+                first.evaluate(stars, forks, updated, created) - second.evaluate(stars, forks, updated, created));
+    }
+
+    private static Compiled multiply(Compiled left, Compiled right) {
+        if (left.constant() && right.constant()) {
+            return constant(left.value() * right.value());
+        }
+        Expression first = left.expression();
+        Expression second = right.expression();
+        if (right.constant()) {
+            double value = right.value();
+            return variable((stars, forks, updated, created) -> first.evaluate(stars, forks, updated, created) * value);
+        }
+        if (left.constant()) {
+            double value = left.value();
+            return variable((stars, forks, updated, created) -> value * second.evaluate(stars, forks, updated, created));
+        }
+        return variable((stars, forks, updated, created) ->
+                first.evaluate(stars, forks, updated, created) * second.evaluate(stars, forks, updated, created));
+    }
+
+    private static Compiled divide(Compiled left, Compiled right) {
+        if (left.constant() && right.constant()) {
+            return constant(left.value() / right.value());
+        }
+        Expression first = left.expression();
+        Expression second = right.expression();
+        if (right.constant()) {
+            double value = right.value();
+            return variable((stars, forks, updated, created) -> first.evaluate(stars, forks, updated, created) / value);
+        }
+        if (left.constant()) {
+            double value = left.value();
+            return variable((stars, forks, updated, created) -> value / second.evaluate(stars, forks, updated, created));
+        }
+        return variable((stars, forks, updated, created) ->
+                first.evaluate(stars, forks, updated, created) / second.evaluate(stars, forks, updated, created));
+    }
+
+    private static Compiled unary(Compiled operand, DoubleUnaryOperator operator) {
+        if (operand.constant()) {
+            return constant(operator.applyAsDouble(operand.value()));
+        }
+        Expression inner = operand.expression();
+        return variable((stars, forks, updated, created) ->
+                operator.applyAsDouble(inner.evaluate(stars, forks, updated, created)));
+    }
+
+    private static Compiled binary(Compiled left, Compiled right, DoubleBinaryOperator operator) {
+        if (left.constant() && right.constant()) {
+            return constant(operator.applyAsDouble(left.value(), right.value()));
+        }
+        Expression first = left.expression();
+        Expression second = right.expression();
+        return variable((stars, forks, updated, created) -> operator.applyAsDouble(
+                first.evaluate(stars, forks, updated, created),
+                second.evaluate(stars, forks, updated, created)));
+    }
+
+    private static Compiled constant(double value) {
+        return new Compiled((stars, forks, updated, created) -> value, true);
+    }
+
+    private static Compiled variable(Expression expression) {
+        return new Compiled(expression, false);
+    }
+
+    private String identifier() {
+        int start = position;
+        while (position < formula.length()
+                && (Character.isLetterOrDigit(formula.charAt(position)) || formula.charAt(position) == '_')) {
+            position++;
+        }
+        return formula.substring(start, position).toLowerCase(Locale.ROOT);
+    }
+
+    private boolean accept(char expected) {
+        skipWhitespace();
+        if (position < formula.length() && formula.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char expected) {
+        if (!accept(expected)) {
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < formula.length() && Character.isWhitespace(formula.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + (position + 1) + " of formula: " + formula);
+    }
+
+    private record Compiled(Expression expression, boolean constant) {
+        double value() {
+            return expression.evaluate(0, 0, 0, 0);
+        }
+    }
+}
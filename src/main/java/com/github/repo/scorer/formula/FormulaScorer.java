@@ -0,0 +1,38 @@
+package com.github.repo.scorer.formula;
+
+import com.github.repo.scorer.service.RepositoryScorer;
+import com.github.repo.scorer.service.ScoreRounding;
+
+/*
+ * Scores with a formula compiled once by FormulaParser, rounded like WeightedRepositoryScorer. A formula that is
+ * undefined for a repository (log of a negative number, division by zero) scores it 0.
+ * */
+public final class FormulaScorer implements RepositoryScorer {
+    private final String formula;
+    private final Expression expression;
+
+    private FormulaScorer(String formula, Expression expression) {
+        this.formula = formula;
+        this.expression = expression;
+    }
+
+    /*
+     * Throws IllegalArgumentException when the formula cannot be parsed.
+     * */
+    public static FormulaScorer compile(String formula) {
+        if (formula == null || formula.isBlank()) {
+            throw new IllegalArgumentException("Formula must not be blank");
+        }
+        return new FormulaScorer(formula, FormulaParser.compile(formula));
+    }
+
+    public String formula() {
+        return formula;
+    }
+
+    @Override
+    public double calculateScore(int stars, int forks, long daysSinceLastUpdated, long daysSinceCreated) {
+        double score = expression.evaluate(stars, forks, daysSinceLastUpdated, daysSinceCreated);
+        return Double.isFinite(score) ? ScoreRounding.roundHalfUp(score) : 0.0;
+    }
+}
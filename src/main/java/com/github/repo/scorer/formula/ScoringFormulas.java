@@ -0,0 +1,30 @@
+package com.github.repo.scorer.formula;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.repo.scorer.exception.BadRequestException;
+import org.springframework.stereotype.Component;
+
+/*
+ * Compiled formulas by their source text, so analysts repeating a request with the same formula do not pay for
+ * parsing again. Formulas that fail to compile are not cached.
+ * */
+@Component
+public class ScoringFormulas {
+    private static final int MAXIMUM_SIZE = 100;
+
+    private final Cache<String, FormulaScorer> compiled = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .build();
+
+    /*
+     * Throws BadRequestException naming the position of the problem when the formula is invalid.
+     * */
+    public FormulaScorer scorer(String formula) {
+        try {
+            return compiled.get(formula.strip(), FormulaScorer::compile);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+}
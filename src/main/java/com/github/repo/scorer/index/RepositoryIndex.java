@@ -0,0 +1,220 @@
+package com.github.repo.scorer.index;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.repo.scorer.client.GithubTimestamps;
+import com.github.repo.scorer.client.Repository;
+import com.github.repo.scorer.config.RepositoryIndexConfigurationProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Local copy of the GitHub repositories of the synced languages, kept in memory per language and persisted as a
+ * single JSON snapshot file that is replaced atomically after every sync. Each language remembers the pushed_at
+ * range it has been synced for; the distance of its end to now is published as the freshness lag.
+ *
+ * A repository is pushed to when it is created, so every repository created since the start of that range has been
+ * pushed to within it: the index holds all of them, up to the freshness lag, but not older ones.
+ * */
+@Component
+public class RepositoryIndex {
+    private static final Logger log = LoggerFactory.getLogger(RepositoryIndex.class);
+
+    private final boolean enabled;
+    private final boolean serveQueries;
+    private final long maxLagSeconds;
+    private final Path path;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, LanguageShard> shards = new ConcurrentHashMap<>();
+
+    public RepositoryIndex(RepositoryIndexConfigurationProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.serveQueries = properties.serveQueries();
+        this.maxLagSeconds = properties.maxLag().toSeconds();
+        this.path = properties.path();
+
+        for (String language : properties.languages()) {
+            Gauge.builder("github.index.freshness.lag", this, index -> index.freshnessLagSeconds(language))
+                    .description("Seconds between now and the pushed_at watermark the language has been synced up to")
+                    .tag("language", languageKey(language))
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+        Gauge.builder("github.index.repositories", this, RepositoryIndex::size)
+                .description("Repositories held in the local index")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!enabled || !Files.exists(path)) {
+            return;
+        }
+        try {
+            var snapshot = objectMapper.readValue(path.toFile(), IndexSnapshot.class);
+            snapshot.languages().forEach((language, languageSnapshot) -> {
+                var shard = shard(language);
+                shard.syncedUntil = languageSnapshot.synced_until();
+                shard.syncedFrom = languageSnapshot.synced_from() == null
+                        ? GithubTimestamps.UNKNOWN
+                        : languageSnapshot.synced_from();
+                for (var repository : languageSnapshot.repositories()) {
+                    shard.repositories.put(repository.id(), repository.toRepository());
+                }
+            });
+            log.info("Loaded {} repositories for {} languages from index {}", size(), shards.size(), path);
+        } catch (IOException e) {
+            log.error("Could not load repository index {}, starting empty: {}", path, e.getMessage());
+        }
+    }
+
+    /*
+     * Writes to a sibling file first, so a crash never leaves a half written snapshot behind.
+     * */
+    public void persist() {
+        if (!enabled) {
+            return;
+        }
+        var languages = new HashMap<String, LanguageSnapshot>();
+        shards.forEach((language, shard) -> languages.put(language, new LanguageSnapshot(shard.syncedUntil, shard.syncedFrom == GithubTimestamps.UNKNOWN ? null : shard.syncedFrom,
+                shard.repositories.values().stream().map(IndexedRepository::of).toList())));
+        try {
+            Path directory = path.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            objectMapper.writeValue(temporary.toFile(), new IndexSnapshot(languages));
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not persist repository index " + path, e);
+        }
+    }
+
+    public void upsert(String language, Collection<Repository> repositories) {
+        var shard = shard(language);
+        for (var repository : repositories) {
+            shard.repositories.put(repository.id(), repository);
+        }
+    }
+
+    /*
+     * Records a synced pushed_at window. Windows are synced forward, so the first one marks the start of the range.
+     * */
+    public void markSynced(String language, long from, long to) {
+        var shard = shard(language);
+        if (shard.syncedFrom == GithubTimestamps.UNKNOWN) {
+            shard.syncedFrom = from;
+        }
+        shard.syncedUntil = to;
+    }
+
+    public OptionalLong syncedFrom(String language) {
+        var shard = shards.get(languageKey(language));
+        return shard == null || shard.syncedFrom == GithubTimestamps.UNKNOWN
+                ? OptionalLong.empty()
+                : OptionalLong.of(shard.syncedFrom);
+    }
+
+    public OptionalLong syncedUntil(String language) {
+        var shard = shards.get(languageKey(language));
+        return shard == null || shard.syncedUntil == GithubTimestamps.UNKNOWN
+                ? OptionalLong.empty()
+                : OptionalLong.of(shard.syncedUntil);
+    }
+
+    /*
+     * Queries are only answered locally once the language has completed at least one sync window, while its sync
+     * lags now by at most max-lag, and only for repositories created at or after createdFrom (epoch seconds) when
+     * that is within the synced range. Older repositories may have been pushed to before the range and be missing,
+     * and a sync that stopped early (rate limit, GitHub error) would leave out the repositories created since.
+     * */
+    public boolean canServe(String language, long createdFrom) {
+        if (!enabled || !serveQueries || language == null || !(freshnessLagSeconds(language) <= maxLagSeconds)) {
+            return false;
+        }
+        var syncedFrom = syncedFrom(language);
+        return syncedFrom.isPresent() && createdFrom >= syncedFrom.getAsLong();
+    }
+
+    /*
+     * Repositories of the language created at or after createdFrom (epoch seconds), in no particular order.
+     * */
+    public List<Repository> find(String language, long createdFrom) {
+        var shard = shards.get(languageKey(language));
+        if (shard == null) {
+            return List.of();
+        }
+        var repositories = new ArrayList<Repository>();
+        for (var repository : shard.repositories.values()) {
+            if (repository.created_at() >= createdFrom) {
+                repositories.add(repository);
+            }
+        }
+        return repositories;
+    }
+
+    public double freshnessLagSeconds(String language) {
+        var syncedUntil = syncedUntil(language);
+        return syncedUntil.isPresent() ? Instant.now().getEpochSecond() - syncedUntil.getAsLong() : Double.NaN;
+    }
+
+    public int size() {
+        return shards.values().stream().mapToInt(shard -> shard.repositories.size()).sum();
+    }
+
+    private LanguageShard shard(String language) {
+        return shards.computeIfAbsent(languageKey(language), key -> new LanguageShard());
+    }
+
+    private static String languageKey(String language) {
+        return language.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class LanguageShard {
+        private final Map<Integer, Repository> repositories = new ConcurrentHashMap<>();
+        private volatile long syncedFrom = GithubTimestamps.UNKNOWN;
+        private volatile long syncedUntil = GithubTimestamps.UNKNOWN;
+    }
+
+    record IndexSnapshot(Map<String, LanguageSnapshot> languages) {
+    }
+
+    /*
+     * synced_from is null in snapshots written before it was recorded.
+     * */
+    record LanguageSnapshot(long synced_until, Long synced_from, List<IndexedRepository> repositories) {
+    }
+
+    /*
+     * Timestamps are kept as epoch seconds in the snapshot, unlike the GitHub wire format.
+     * */
+    record IndexedRepository(int id, String name, String description, String language, long created_at,
+                             long pushed_at, int stars, int forks) {
+        static IndexedRepository of(Repository repository) {
+            return new IndexedRepository(repository.id(), repository.name(), repository.description(),
+                    repository.language(), repository.created_at(), repository.pushed_at(),
+                    repository.stargazers_count(), repository.forks_count());
+        }
+
+        Repository toRepository() {
+            return new Repository(id, name, description, created_at, pushed_at, forks, stars, language);
+        }
+    }
+}
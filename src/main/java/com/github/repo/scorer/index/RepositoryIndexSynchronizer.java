@@ -0,0 +1,130 @@
+package com.github.repo.scorer.index;
+
+import com.github.repo.scorer.client.GithubFeignClient;
+import com.github.repo.scorer.client.SearchRateLimiter;
+import com.github.repo.scorer.config.RepositoryIndexConfigurationProperties;
+import com.github.repo.scorer.exception.TooManyRequestsException;
+import com.github.repo.scorer.model.SearchRepositoriesResponse;
+import com.github.repo.scorer.service.SearchQueryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+import static com.github.repo.scorer.service.GithubRepositorySearchService.DESC;
+import static com.github.repo.scorer.service.GithubRepositorySearchService.GITHUB_MAX_PAGE_SIZE;
+import static com.github.repo.scorer.service.GithubRepositorySearchService.GITHUB_MAX_RESULTS;
+import static com.github.repo.scorer.service.GithubRepositorySearchService.STARS;
+
+/*
+ * Fills the repository index from GitHub search. Every language is synced forward from its pushed_at watermark
+ * (or from initial-lookback ago) to now in sync-window sized pushed:from..to windows. A window whose total count
+ * exceeds what GitHub search returns is bisected until every window can be paged through completely.
+ *
+ * The watermark only moves past fully fetched windows, so a failed run (rate limit, GitHub error) resumes where it
+ * stopped on the next schedule. Like the prefetcher, a run stops as soon as the GitHub search budget falls to
+ * reserved-budget, so a sync (which starts right after startup) never takes the last requests of a rate limit window
+ * from users.
+ * */
+@Component
+public class RepositoryIndexSynchronizer {
+    private static final Logger log = LoggerFactory.getLogger(RepositoryIndexSynchronizer.class);
+    private static final long MIN_WINDOW_SECONDS = 60;
+
+    private final GithubFeignClient githubClient;
+    private final SearchRateLimiter rateLimiter;
+    private final RepositoryIndex repositoryIndex;
+    private final boolean enabled;
+    private final List<String> languages;
+    private final long initialLookbackSeconds;
+    private final long syncWindowSeconds;
+    private final int reservedBudget;
+
+    public RepositoryIndexSynchronizer(GithubFeignClient githubClient, SearchRateLimiter rateLimiter,
+                                       RepositoryIndex repositoryIndex, RepositoryIndexConfigurationProperties properties) {
+        this.githubClient = githubClient;
+        this.rateLimiter = rateLimiter;
+        this.repositoryIndex = repositoryIndex;
+        this.enabled = properties.enabled();
+        this.languages = properties.languages();
+        this.initialLookbackSeconds = properties.initialLookback().toSeconds();
+        this.syncWindowSeconds = Math.max(properties.syncWindow().toSeconds(), MIN_WINDOW_SECONDS);
+        this.reservedBudget = properties.reservedBudget();
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${github.index.sync-interval}")
+    public void syncAll() {
+        if (!enabled) {
+            return;
+        }
+        for (String language : languages) {
+            if (rateLimiter.remaining() <= reservedBudget) {
+                log.info("Stopping repository index sync, GitHub search budget is down to the reserved {} requests",
+                        reservedBudget);
+                break;
+            }
+            syncLanguage(language, Instant.now().getEpochSecond());
+        }
+        repositoryIndex.persist();
+    }
+
+    void syncLanguage(String language, long now) {
+        long from = repositoryIndex.syncedUntil(language).orElse(now - initialLookbackSeconds);
+        int calls = 0;
+        try {
+            while (from < now) {
+                long to = Math.min(from + syncWindowSeconds, now);
+                calls += syncWindow(language, from, to);
+                repositoryIndex.markSynced(language, from, to);
+                from = to;
+            }
+            log.info("Synced repository index for language {} with {} GitHub calls", language, calls);
+        } catch (RuntimeException e) {
+            log.warn("Repository index sync for language {} stopped at {} after {} GitHub calls: {}",
+                    language, Instant.ofEpochSecond(from), calls, e.getMessage());
+        }
+    }
+
+    /*
+     * Returns the number of GitHub calls spent on the window.
+     * */
+    private int syncWindow(String language, long from, long to) {
+        String query = new SearchQueryBuilder.Builder(language, null)
+                .pushedBetween(Instant.ofEpochSecond(from).toString(), Instant.ofEpochSecond(to).toString())
+                .archived(false)
+                .mirror(false)
+                .build()
+                .buildQueryString();
+
+        SearchRepositoriesResponse firstPage = search(query, 1);
+        if (firstPage == null || firstPage.items() == null) {
+            return 1;
+        }
+        if (firstPage.total_count() > GITHUB_MAX_RESULTS && to - from > MIN_WINDOW_SECONDS) {
+            long middle = from + (to - from) / 2;
+            return 1 + syncWindow(language, from, middle) + syncWindow(language, middle, to);
+        }
+
+        repositoryIndex.upsert(language, firstPage.items());
+        int pages = (Math.min(firstPage.total_count(), GITHUB_MAX_RESULTS) + GITHUB_MAX_PAGE_SIZE - 1) / GITHUB_MAX_PAGE_SIZE;
+        for (int page = 2; page <= pages; page++) {
+            var response = search(query, page);
+            if (response == null || response.items() == null || response.items().isEmpty()) {
+                return page;
+            }
+            repositoryIndex.upsert(language, response.items());
+        }
+        return Math.max(pages, 1);
+    }
+
+    private SearchRepositoriesResponse search(String query, int page) {
+        if (rateLimiter.remaining() <= reservedBudget) {
+            throw new TooManyRequestsException("GitHub search budget is down to the reserved " + reservedBudget
+                    + " requests");
+        }
+        return githubClient.searchRepositories(query, GITHUB_MAX_PAGE_SIZE, page, STARS, DESC);
+    }
+}
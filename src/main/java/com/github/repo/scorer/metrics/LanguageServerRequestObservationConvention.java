@@ -0,0 +1,28 @@
+package com.github.repo.scorer.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/*
+ * Adds the capped language tag of the language request parameter to http.server.requests, so API latency can be
+ * broken down by language. Requests without the parameter (actuator, docs) are tagged "none".
+ * */
+@Component
+public class LanguageServerRequestObservationConvention extends DefaultServerRequestObservationConvention {
+    private static final String LANGUAGE = "language";
+
+    private final LanguageTags languageTags;
+
+    public LanguageServerRequestObservationConvention(LanguageTags languageTags) {
+        this.languageTags = languageTags;
+    }
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        String language = context.getCarrier().getParameter(LANGUAGE);
+        return super.getLowCardinalityKeyValues(context).and(KeyValue.of(LANGUAGE, languageTags.tag(language)));
+    }
+}
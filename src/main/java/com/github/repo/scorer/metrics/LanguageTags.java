@@ -0,0 +1,42 @@
+package com.github.repo.scorer.metrics;
+
+import com.github.repo.scorer.config.MetricsConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/*
+ * Turns the free text language of a request into a metric tag value without letting it blow up the number of
+ * time series: the configured language-tags (lower cased) become tag values of their own, every other language is
+ * tagged "other". Requests without a language are tagged "none".
+ * */
+@Component
+public class LanguageTags {
+    public static final String NONE = "none";
+    public static final String OTHER = "other";
+
+    private final Set<String> allowed;
+
+    public LanguageTags(MetricsConfigurationProperties properties) {
+        this.allowed = properties.languageTags() == null
+                ? Set.of()
+                : properties.languageTags().stream()
+                        .map(LanguageTags::normalize)
+                        .filter(language -> !language.isEmpty())
+                        .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public String tag(String language) {
+        if (language == null || language.isBlank()) {
+            return NONE;
+        }
+        String key = normalize(language);
+        return allowed.contains(key) ? key : OTHER;
+    }
+
+    private static String normalize(String language) {
+        return language.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,38 @@
+package com.github.repo.scorer.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * repository.scoring.batch times every scored batch (a GitHub page, a merged top-k set, an index query) and
+ * repository.scored.items counts the repositories in it, so rate(repository_scored_items_total) is the number of
+ * repositories scored per second.
+ * */
+@Component
+public class ScoringMetrics {
+    private final MeterRegistry meterRegistry;
+    private final LanguageTags languageTags;
+
+    public ScoringMetrics(MeterRegistry meterRegistry, LanguageTags languageTags) {
+        this.meterRegistry = meterRegistry;
+        this.languageTags = languageTags;
+    }
+
+    public void recordBatch(String language, int items, long elapsedNanos) {
+        String languageTag = languageTags.tag(language);
+        Timer.builder("repository.scoring.batch")
+                .description("Time spent scoring one batch of repositories")
+                .tag("language", languageTag)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        Counter.builder("repository.scored.items")
+                .description("Repositories scored")
+                .tag("language", languageTag)
+                .register(meterRegistry)
+                .increment(items);
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.repo.scorer.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Replaces Spring Boot's default JSON converter to time the serialization of API responses as json.serialization.
+ * The time includes writing to the response stream, which is where the serialized bytes go.
+ * */
+@Component
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    private final Timer serialization;
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        this.serialization = Timer.builder("json.serialization")
+                .description("Time spent encoding JSON bodies")
+                .tag("source", "api")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            serialization.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
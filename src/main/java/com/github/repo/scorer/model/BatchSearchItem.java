@@ -0,0 +1,26 @@
+package com.github.repo.scorer.model;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+
+/*
+ * One search of a batch, with the same fields, limits and defaults as the /repositories query parameters.
+ * */
+public record BatchSearchItem(@NotBlank @Size(max = 50) String language,
+                              @NotNull LocalDate created_after,
+                              @Min(1) Integer page,
+                              @Min(1) @Max(100) Integer page_size,
+                              @Size(max = 200) String formula) {
+
+    public SearchRepositoryRequest toSearchRequest() {
+        return new SearchRepositoryRequest(
+                new SearchRepositoryQuery(language, created_after.toString()),
+                new PageRequest(page_size == null ? 100 : page_size, page == null ? 1 : page),
+                formula);
+    }
+}
@@ -0,0 +1,15 @@
+package com.github.repo.scorer.model;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/*
+ * The searches themselves are validated one by one, so an invalid search fails only its own result.
+ * */
+public record BatchSearchRequest(@NotEmpty @Size(max = BatchSearchRequest.MAX_SEARCHES)
+                                 List<@NotNull BatchSearchItem> searches) {
+    public static final int MAX_SEARCHES = 50;
+}
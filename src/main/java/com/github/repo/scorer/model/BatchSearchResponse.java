@@ -0,0 +1,9 @@
+package com.github.repo.scorer.model;
+
+import java.util.List;
+
+/*
+ * One result per search, in the order of the request.
+ * */
+public record BatchSearchResponse(List<BatchSearchResult> results) {
+}
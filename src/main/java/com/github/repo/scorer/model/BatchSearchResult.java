@@ -0,0 +1,19 @@
+package com.github.repo.scorer.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.github.repo.scorer.exception.ErrorResponse;
+
+/*
+ * Either the scored repositories of one search of a batch or the error it failed with.
+ * */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchSearchResult(ScoredRepositoriesResponse result, ErrorResponse error) {
+
+    public static BatchSearchResult succeeded(ScoredRepositoriesResponse result) {
+        return new BatchSearchResult(result, null);
+    }
+
+    public static BatchSearchResult failed(ErrorResponse error) {
+        return new BatchSearchResult(null, error);
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.repo.scorer.model;
+
+import java.util.List;
+
+/*
+ * total_count is the number of repositories GitHub matched across all windows, scored_count the number of them that
+ * were fetched and ranked. complete is false when the call budget or the rate limit ended the crawl early, or a
+ * window could not be split below 1000 results, so that part of the population was not seen. upstream_calls counts
+ * the search pages that were not answered from the cache.
+ * */
+public record CrawledRepositoriesResponse(int total_count,
+                                          int scored_count,
+                                          List<ScoredRepository> repositories,
+                                          long weights_version,
+                                          boolean stale,
+                                          boolean complete,
+                                          int windows,
+                                          int upstream_calls) {
+}
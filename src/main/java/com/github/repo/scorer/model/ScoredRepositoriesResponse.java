@@ -2,8 +2,19 @@ package com.github.repo.scorer.model;
 
 import java.util.List;
 
+/*
+ * stale is set when at least one GitHub page was served from a cached response past its ttl, either while it is
+ * being refreshed or because GitHub failed.
+ * */
 public record ScoredRepositoriesResponse(int total_count,
                                          int page,
                                          int page_size,
-                                         List<ScoredRepository> repositories) {
+                                         List<ScoredRepository> repositories,
+                                         long weights_version,
+                                         boolean stale) {
+
+    public ScoredRepositoriesResponse(int total_count, int page, int page_size, List<ScoredRepository> repositories,
+                                      long weights_version) {
+        this(total_count, page, page_size, repositories, weights_version, false);
+    }
 }
@@ -0,0 +1,8 @@
+package com.github.repo.scorer.model;
+
+public record ScoredRepositoriesTrailer(int total_count, long weights_version, boolean stale) {
+
+    public ScoredRepositoriesTrailer(int total_count, long weights_version) {
+        this(total_count, weights_version, false);
+    }
+}
@@ -0,0 +1,7 @@
+package com.github.repo.scorer.model;
+
+public record ScoringWeightsResponse(long version,
+                                     double stars_weight,
+                                     double forks_weight,
+                                     double updated_at_weight) {
+}
@@ -1,4 +1,11 @@
 package com.github.repo.scorer.model;
 
-public record SearchRepositoryRequest(SearchRepositoryQuery query, PageRequest pageRequest) {
+/*
+ * formula is an optional scoring formula replacing the configured weights for this request.
+ * */
+public record SearchRepositoryRequest(SearchRepositoryQuery query, PageRequest pageRequest, String formula) {
+
+    public SearchRepositoryRequest(SearchRepositoryQuery query, PageRequest pageRequest) {
+        this(query, pageRequest, null);
+    }
 }
@@ -0,0 +1,95 @@
+package com.github.repo.scorer.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/*
+ * Runs a task per input on virtual threads, with at most maxParallelism tasks running at the same time.
+ * Results are returned in input order. The first failing task cancels the remaining ones and its exception
+ * is rethrown to the caller.
+ * */
+final class BoundedParallel {
+
+    private BoundedParallel() {
+    }
+
+    static <T, R> List<R> map(List<T> inputs, int maxParallelism, Function<T, R> task) {
+        var permits = new Semaphore(Math.max(1, maxParallelism));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<R>> futures = new ArrayList<>(inputs.size());
+            for (T input : inputs) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return task.apply(input);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            List<R> results = new ArrayList<>(inputs.size());
+            for (Future<R> future : futures) {
+                results.add(await(future, executor));
+            }
+            return results;
+        }
+    }
+
+    /*
+     * Same as map, but hands each result to the consumer as soon as its task completes instead of collecting them.
+     * The consumer always runs on the calling thread, one result at a time, in completion order.
+     * */
+    static <T, R> void forEachCompleted(List<T> inputs, int maxParallelism, Function<T, R> task,
+                                        Consumer<R> consumer) {
+        var permits = new Semaphore(Math.max(1, maxParallelism));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var completionService = new ExecutorCompletionService<R>(executor);
+            for (T input : inputs) {
+                completionService.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return task.apply(input);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+
+            for (int i = 0; i < inputs.size(); i++) {
+                R result;
+                try {
+                    result = await(completionService.take(), executor);
+                } catch (InterruptedException e) {
+                    executor.shutdownNow();
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for parallel tasks", e);
+                }
+                consumer.accept(result);
+            }
+        }
+    }
+
+    private static <R> R await(Future<R> future, ExecutorService executor) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            executor.shutdownNow();
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            if (e.getCause() instanceof Error error) throw error;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for parallel tasks", e);
+        }
+    }
+}
@@ -1,46 +1,530 @@
 package com.github.repo.scorer.service;
 
+import com.github.repo.scorer.cache.CachedSearch;
+import com.github.repo.scorer.cache.PopularSearches;
+import com.github.repo.scorer.cache.SearchCachePeers;
+import com.github.repo.scorer.cache.SearchCacheKey;
+import com.github.repo.scorer.cache.SearchResultCache;
+import com.github.repo.scorer.cache.SingleFlight;
 import com.github.repo.scorer.client.GithubFeignClient;
+import com.github.repo.scorer.client.GithubTimestamps;
 import com.github.repo.scorer.client.Repository;
+import com.github.repo.scorer.config.SearchCrawlConfigurationProperties;
+import com.github.repo.scorer.config.SearchFanOutConfigurationProperties;
+import com.github.repo.scorer.exception.ErrorResponse;
 import com.github.repo.scorer.exception.InternalServerErrorException;
+import com.github.repo.scorer.exception.TooManyRequestsException;
 import com.github.repo.scorer.exception.UnprocessableEntityException;
+import com.github.repo.scorer.formula.ScoringFormulas;
+import com.github.repo.scorer.index.RepositoryIndex;
+import com.github.repo.scorer.metrics.ScoringMetrics;
 import com.github.repo.scorer.model.*;
 import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
 import java.time.Instant;
-import java.time.format.DateTimeParseException;
-import java.time.temporal.ChronoUnit;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 @Service
 public class GithubRepositorySearchService implements RepositorySearchService {
     public static final String STARS = "stars";
     public static final String DESC = "desc";
-    private static final Instant MIN_GITHUB_PUSHED_AT = Instant.parse("2008-04-01T00:00:00Z");
+    public static final int GITHUB_MAX_PAGE_SIZE = 100;
+    public static final int GITHUB_MAX_RESULTS = 1000;
+    /* weights_version reported for scores computed with a per request formula instead of the configured weights */
+    static final long FORMULA_WEIGHTS_VERSION = 0;
+    private static final long MIN_GITHUB_PUSHED_AT = Instant.parse("2008-04-01T00:00:00Z").getEpochSecond();
+    private static final long MIN_GITHUB_CREATED_AT = Instant.parse("2007-10-01T00:00:00Z").getEpochSecond();
+    private static final long MIN_CRAWL_WINDOW_SECONDS = 60;
     private static final Logger log = LoggerFactory.getLogger(GithubRepositorySearchService.class);
     private final GithubFeignClient githubClient;
-    private final RepositoryScorer repositoryScorer;
+    private final ReloadableRepositoryScorer reloadableScorer;
+    private final ScoringFormulas scoringFormulas;
+    private final SearchResultCache searchResultCache;
+    private final PopularSearches popularSearches;
+    private final SearchCachePeers searchPeers;
+    private final RepositoryIndex repositoryIndex;
+    private final ScoringMetrics scoringMetrics;
+    private final SingleFlight<SearchCacheKey, SearchRepositoriesResponse> inFlightSearches;
+    private final Set<SearchCacheKey> revalidating = ConcurrentHashMap.newKeySet();
+    private final Counter staleWhileRevalidating;
+    private final Counter staleOnUpstreamError;
+    private final int maxParallelism;
+    private final int maxCrawlCalls;
 
-    public GithubRepositorySearchService(GithubFeignClient githubClient, RepositoryScorer repositoryScorer) {
+    public GithubRepositorySearchService(GithubFeignClient githubClient, ReloadableRepositoryScorer reloadableScorer,
+                                         ScoringFormulas scoringFormulas,
+                                         SearchResultCache searchResultCache,
+                                         PopularSearches popularSearches,
+                                         SearchCachePeers searchPeers,
+                                         RepositoryIndex repositoryIndex,
+                                         ScoringMetrics scoringMetrics,
+                                         SearchFanOutConfigurationProperties fanOutProperties,
+                                         SearchCrawlConfigurationProperties crawlProperties,
+                                         MeterRegistry meterRegistry) {
         this.githubClient = githubClient;
-        this.repositoryScorer = repositoryScorer;
+        this.reloadableScorer = reloadableScorer;
+        this.scoringFormulas = scoringFormulas;
+        this.searchResultCache = searchResultCache;
+        this.popularSearches = popularSearches;
+        this.searchPeers = searchPeers;
+        this.repositoryIndex = repositoryIndex;
+        this.scoringMetrics = scoringMetrics;
+        this.maxParallelism = fanOutProperties.maxParallelism();
+        this.maxCrawlCalls = crawlProperties.maxCalls();
+        this.inFlightSearches = new SingleFlight<>(DistributionSummary.builder("github.search.coalesced.callers")
+                .description("Number of callers that shared a single upstream GitHub search call")
+                .register(meterRegistry));
+        this.staleWhileRevalidating = staleServed(meterRegistry, "revalidating");
+        this.staleOnUpstreamError = staleServed(meterRegistry, "upstream_error");
+    }
+
+    private static Counter staleServed(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("github.search.stale.served")
+                .description("GitHub search responses served from the cache past their ttl")
+                .tag("reason", reason)
+                .register(meterRegistry);
     }
 
 
     @Override
     public ScoredRepositoriesResponse searchAndScore(SearchRepositoryRequest request) {
+        var scorer = scorerFor(request.formula());
+        long indexCreatedFrom = indexCreatedFrom(request.query().createdAfter());
+        if (repositoryIndex.canServe(request.query().language(), indexCreatedFrom)) {
+            return searchAndScoreFromIndex(request, indexCreatedFrom, scorer);
+        }
+
         String query = buildSearchQuery(request.query());
         int pageSize = request.pageRequest().pageSize();
         int page = request.pageRequest().page();
 
-        SearchRepositoriesResponse response = searchRepositories(query, page, pageSize);
+        SearchResult result = searchRepositories(query, request.query(), page, pageSize);
+
+        return mapToScoredResponse(result, request.query().language(), page, pageSize, scorer);
+    }
+
+    /*
+     * Answers from the local index without calling GitHub: every indexed repository of the language created after
+     * the requested date is scored in bulk over its columns, so paging walks one global ranking instead of GitHub's
+     * stars order. Ties are broken by repository id. Only the rows up to the requested page are selected from the
+     * scores and only the page itself is turned into ScoredRepository records.
+     * */
+    private ScoredRepositoriesResponse searchAndScoreFromIndex(SearchRepositoryRequest request, long createdFrom,
+                                                               VersionedScorer scorer) {
+        int pageSize = request.pageRequest().pageSize();
+        int page = request.pageRequest().page();
+
+        log.info("Serving repository search from local index for language: {}", request.query().language());
+        var candidates = repositoryIndex.find(request.query().language(), createdFrom);
+        long start = System.nanoTime();
+        var columns = RepositoryColumns.of(candidates, this::getUpdatedAt);
+        double[] scores = new double[columns.size()];
+        scorer.scorer().calculateScores(columns, Instant.now().getEpochSecond(), scores);
+        scoringMetrics.recordBatch(request.query().language(), scores.length, System.nanoTime() - start);
+
+        int offset = (int) Math.min((long) (page - 1) * pageSize, columns.size());
+        int[] rows = TopK.select(scores, columns.ids(), columns.size(), Math.min(offset + pageSize, columns.size()));
+        var repositories = new ArrayList<ScoredRepository>(rows.length - offset);
+        for (int rank = offset; rank < rows.length; rank++) {
+            repositories.add(toScoredRepository(candidates.get(rows[rank]), scores[rows[rank]]));
+        }
+        return new ScoredRepositoriesResponse(candidates.size(), page, pageSize, repositories, scorer.version());
+    }
+
+    /*
+     * created:>date excludes the date itself, which is mirrored here. Without a date the index never covers the query.
+     * */
+    private static long indexCreatedFrom(String createdAfter) {
+        return createdAfter == null || createdAfter.isBlank()
+                ? Long.MIN_VALUE
+                : LocalDate.parse(createdAfter).plusDays(1).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+    }
+
+    /*
+     * Fetches as many GitHub pages as needed to cover the limit (GitHub never returns more than 1000 results)
+     * in parallel, keeping GitHub's stars desc order as the fetch order. The repositories within the first limit
+     * positions of GitHub's ranking are merged in that order and sorted by score, breaking ties by merge position,
+     * so repositories with equal scores keep their relative GitHub ranking as with a stable sort. These are the
+     * same repositories streamScoredTop emits.
+     * */
+    @Override
+    public ScoredRepositoriesResponse searchAndScoreTop(SearchRepositoryQuery searchQuery, int limit) {
+        var scorer = reloadableScorer.current();
+        String query = buildSearchQuery(searchQuery);
+        int cappedLimit = Math.min(limit, GITHUB_MAX_RESULTS);
+        int pageSize = Math.min(cappedLimit, GITHUB_MAX_PAGE_SIZE);
+
+        log.info("Fetching top {} repositories for query: {}", cappedLimit, query);
+        List<SearchResult> pages = BoundedParallel.map(
+                pageNumbers(cappedLimit, pageSize),
+                maxParallelism,
+                page -> searchRepositories(query, searchQuery, page, pageSize));
+
+        var firstPage = pages.get(0).response();
+        boolean stale = pages.stream().anyMatch(SearchResult::stale);
+        if (firstPage == null || CollectionUtils.isEmpty(firstPage.items())) {
+            return new ScoredRepositoriesResponse(0, 1, cappedLimit, Collections.emptyList(), scorer.version(), stale);
+        }
+
+        long now = Instant.now().getEpochSecond();
+        var candidates = mergePages(pages, pageSize, cappedLimit);
+        long start = System.nanoTime();
+        double[] scores = new double[candidates.size()];
+        for (int row = 0; row < scores.length; row++) {
+            scores[row] = calculateScore(candidates.get(row), now, scorer.scorer());
+        }
+        scoringMetrics.recordBatch(searchQuery.language(), scores.length, System.nanoTime() - start);
+        int[] rows = TopK.select(scores, scores.length, cappedLimit);
+        var repositories = new ArrayList<ScoredRepository>(rows.length);
+        for (int row : rows) {
+            repositories.add(toScoredRepository(candidates.get(row), scores[row]));
+        }
+        return new ScoredRepositoriesResponse(firstPage.total_count(), 1, cappedLimit, repositories, scorer.version(),
+                stale);
+    }
+
+    /*
+     * Unlike searchAndScoreTop, nothing is held back for a global sort: each GitHub page is scored, sorted by score
+     * and handed to the consumer as soon as it arrives, so pages are emitted in completion order. Only repositories
+     * within the first limit positions of GitHub's ranking are emitted, the same ones searchAndScoreTop ranks, so
+     * both return the same repositories and only their order differs. Returns GitHub's total count, the version
+     * of the weights every emitted page was scored with and whether any page was stale.
+     * */
+    @Override
+    public ScoredRepositoriesTrailer streamScoredTop(SearchRepositoryQuery searchQuery, int limit,
+                                                     Consumer<List<ScoredRepository>> consumer) {
+        var scorer = reloadableScorer.current();
+        String query = buildSearchQuery(searchQuery);
+        int cappedLimit = Math.min(limit, GITHUB_MAX_RESULTS);
+        int pageSize = Math.min(cappedLimit, GITHUB_MAX_PAGE_SIZE);
+        var seenIds = new HashSet<Integer>();
+        var totalCount = new AtomicInteger();
+        var stale = new AtomicBoolean();
 
-        return mapToScoredResponse(response, page, pageSize);
+        log.info("Streaming top {} repositories for query: {}", cappedLimit, query);
+        BoundedParallel.forEachCompleted(
+                pageNumbers(cappedLimit, pageSize),
+                maxParallelism,
+                page -> new FetchedPage(page, searchRepositories(query, searchQuery, page, pageSize)),
+                fetched -> {
+                    var response = fetched.result().response();
+                    if (fetched.result().stale()) {
+                        stale.set(true);
+                    }
+                    if (response == null || CollectionUtils.isEmpty(response.items())) {
+                        return;
+                    }
+                    totalCount.accumulateAndGet(response.total_count(), Math::max);
+                    int remaining = cappedLimit - (fetched.page() - 1) * pageSize;
+                    long now = Instant.now().getEpochSecond();
+                    long start = System.nanoTime();
+                    var repositories = response.items().stream()
+                            .limit(remaining)
+                            .filter(repository -> seenIds.add(repository.id()))
+                            .map(repository -> toScoredRepository(repository, now, scorer.scorer()))
+                            .sorted(Comparator.comparingDouble(ScoredRepository::score).reversed())
+                            .toList();
+                    scoringMetrics.recordBatch(searchQuery.language(), repositories.size(), System.nanoTime() - start);
+                    consumer.accept(repositories);
+                });
+        return new ScoredRepositoriesTrailer(totalCount.get(), scorer.version(), stale.get());
+    }
+
+    /*
+     * Crawl mode of the top repositories. GitHub returns at most 1000 results per search, so the created range after
+     * created_after is split into windows that each match no more than that, and the repositories of all windows are
+     * scored into one global ranking. Windows are explored level by level: the first page of every window of a level
+     * is fetched in parallel, a window matching more than 1000 repositories is bisected into the next level and any
+     * other is accepted. The remaining pages of the accepted windows are fetched last, again in parallel.
+     *
+     * The created range ends at the start of the next UTC day and windows are bisected on a fixed grid (see
+     * CreatedWindow.split), so repeated crawls search the same pages and are answered from the search cache, shared
+     * in-flight searches and conditional requests, while only the windows reaching today change day by day.
+     *
+     * Every page counts against max-calls and goes through the GitHub rate limiter, so a crawl running out of either
+     * stops early and ranks what it has fetched so far, reported as incomplete. A page GitHub fails or rejects is left
+     * out the same way.
+     * */
+    @Override
+    public CrawledRepositoriesResponse crawlAndScoreTop(SearchRepositoryQuery searchQuery, int limit) {
+        var scorer = reloadableScorer.current();
+        int cappedLimit = Math.min(limit, GITHUB_MAX_RESULTS);
+        var crawl = new Crawl(searchQuery.language());
+
+        long createdTo = LocalDate.now(ZoneOffset.UTC).plusDays(1).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+        List<CreatedWindow> level = List.of(new CreatedWindow(createdFrom(searchQuery.createdAfter()), createdTo));
+        var fetched = new ArrayList<SearchResult>();
+        var remainingPages = new ArrayList<WindowPage>();
+        int windows = 0;
+        int totalCount = 0;
+        while (!level.isEmpty()) {
+            var probedWindows = crawl.take(level);
+            var probes = BoundedParallel.map(probedWindows, maxParallelism, window -> crawl.fetch(window, 1));
+            var nextLevel = new ArrayList<CreatedWindow>();
+            for (int i = 0; i < probes.size(); i++) {
+                var window = probedWindows.get(i);
+                var probe = probes.get(i);
+                if (probe == null || probe.response() == null) {
+                    continue;
+                }
+                int windowCount = probe.response().total_count();
+                if (windowCount > GITHUB_MAX_RESULTS && window.splittable()) {
+                    nextLevel.add(window.firstHalf());
+                    nextLevel.add(window.secondHalf());
+                    continue;
+                }
+                if (windowCount > GITHUB_MAX_RESULTS) {
+                    crawl.incomplete();
+                }
+                windows++;
+                totalCount += windowCount;
+                fetched.add(probe);
+                int pageCount = (Math.min(windowCount, GITHUB_MAX_RESULTS) + GITHUB_MAX_PAGE_SIZE - 1) / GITHUB_MAX_PAGE_SIZE;
+                for (int page = 2; page <= pageCount; page++) {
+                    remainingPages.add(new WindowPage(window, page));
+                }
+            }
+            level = nextLevel;
+        }
+        for (var page : BoundedParallel.map(crawl.take(remainingPages), maxParallelism,
+                windowPage -> crawl.fetch(windowPage.window(), windowPage.page()))) {
+            if (page != null) {
+                fetched.add(page);
+            }
+        }
+
+        long now = Instant.now().getEpochSecond();
+        var candidates = mergePages(fetched);
+        long start = System.nanoTime();
+        double[] scores = new double[candidates.size()];
+        for (int row = 0; row < scores.length; row++) {
+            scores[row] = calculateScore(candidates.get(row), now, scorer.scorer());
+        }
+        scoringMetrics.recordBatch(searchQuery.language(), scores.length, System.nanoTime() - start);
+        int[] rows = TopK.select(scores, scores.length, cappedLimit);
+        var repositories = new ArrayList<ScoredRepository>(rows.length);
+        for (int row : rows) {
+            repositories.add(toScoredRepository(candidates.get(row), scores[row]));
+        }
+
+        log.info("Crawled {} windows with {} GitHub calls for language {}, complete: {}",
+                windows, crawl.upstreamCalls(), searchQuery.language(), crawl.complete());
+        return new CrawledRepositoriesResponse(totalCount, candidates.size(), repositories, scorer.version(),
+                fetched.stream().anyMatch(SearchResult::stale), crawl.complete(), windows, crawl.upstreamCalls());
+    }
+
+    /*
+     * created:>date excludes the date itself.
+     * */
+    private static long createdFrom(String createdAfter) {
+        if (createdAfter == null || createdAfter.isBlank()) {
+            return MIN_GITHUB_CREATED_AT;
+        }
+        return LocalDate.parse(createdAfter).plusDays(1).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+    }
+
+    /*
+     * State of one crawl: the pages left in its call budget, the pages fetched from GitHub and whether anything
+     * was left out.
+     * */
+    private final class Crawl {
+        private final String language;
+        private final AtomicInteger callsLeft = new AtomicInteger(maxCrawlCalls);
+        private final AtomicInteger upstreamCalls = new AtomicInteger();
+        private final AtomicBoolean complete = new AtomicBoolean(true);
+
+        private Crawl(String language) {
+            this.language = language;
+        }
+
+        /*
+         * The leading requests that still fit into the call budget.
+         * */
+        <T> List<T> take(List<T> requests) {
+            int granted = Math.max(0, Math.min(requests.size(), callsLeft.getAndAdd(-requests.size())));
+            if (granted < requests.size()) {
+                incomplete();
+            }
+            return requests.subList(0, granted);
+        }
+
+        /*
+         * null when the rate limit did not allow the search, or GitHub failed or rejected it.
+         * */
+        SearchResult fetch(CreatedWindow window, int page) {
+            String query = new SearchQueryBuilder.Builder(language, null)
+                    .createdBetween(Instant.ofEpochSecond(window.from()).toString(),
+                            Instant.ofEpochSecond(window.to() - 1).toString())
+                    .archived(false)
+                    .mirror(false)
+                    .build()
+                    .buildQueryString();
+            try {
+                var result = searchRepositories(query, null, page, GITHUB_MAX_PAGE_SIZE);
+                if (!result.cached()) {
+                    upstreamCalls.incrementAndGet();
+                }
+                return result;
+            } catch (TooManyRequestsException e) {
+                incomplete();
+                return null;
+            } catch (InternalServerErrorException | UnprocessableEntityException e) {
+                log.warn("Crawl page {} of window {} failed, leaving it out: {}", page, window, e.getMessage());
+                incomplete();
+                return null;
+            }
+        }
+
+        void incomplete() {
+            complete.set(false);
+        }
+
+        boolean complete() {
+            return complete.get();
+        }
+
+        int upstreamCalls() {
+            return upstreamCalls.get();
+        }
+    }
+
+    /*
+     * Created range [from, to) in epoch seconds.
+     * */
+    private record CreatedWindow(long from, long to) {
+        boolean splittable() {
+            return to - from > MIN_CRAWL_WINDOW_SECONDS;
+        }
+
+        CreatedWindow firstHalf() {
+            return new CreatedWindow(from, split());
+        }
+
+        CreatedWindow secondHalf() {
+            return new CreatedWindow(split(), to);
+        }
+
+        /*
+         * The coarsest point within the window on a grid of powers of two days since the epoch, or of powers of two
+         * seconds for windows of a day or less. Unlike the middle it does not depend on where the window ends, so the
+         * windows before today stay the same from one day to the next.
+         * */
+        long split() {
+            long unit = to - from > GithubTimestamps.SECONDS_PER_DAY ? GithubTimestamps.SECONDS_PER_DAY : 1;
+            long step = unit * Long.highestOneBit((to - from) / unit);
+            long point = Math.floorDiv(from, step) * step + step;
+            while (point >= to) {
+                step /= 2;
+                point = Math.floorDiv(from, step) * step + step;
+            }
+            return point;
+        }
+    }
+
+    private record WindowPage(CreatedWindow window, int page) {
+    }
+
+    /*
+     * Identical requests of a batch are searched once and share their result. The distinct requests run in
+     * parallel, at most max-parallelism at a time, and a failing request only fails its own results.
+     * */
+    @Override
+    public List<BatchSearchResult> searchAndScoreAll(List<SearchRepositoryRequest> requests) {
+        var distinct = List.copyOf(new LinkedHashSet<>(requests));
+        log.info("Searching batch of {} requests, {} distinct", requests.size(), distinct.size());
+        var results = BoundedParallel.map(distinct, maxParallelism, this::searchAndScoreItem);
+
+        var resultsByRequest = new HashMap<SearchRepositoryRequest, BatchSearchResult>(distinct.size() * 2);
+        for (int i = 0; i < distinct.size(); i++) {
+            resultsByRequest.put(distinct.get(i), results.get(i));
+        }
+        return requests.stream().map(resultsByRequest::get).toList();
+    }
+
+    private BatchSearchResult searchAndScoreItem(SearchRepositoryRequest request) {
+        try {
+            return BatchSearchResult.succeeded(searchAndScore(request));
+        } catch (RuntimeException e) {
+            log.warn("Batch search {} failed: {}", request, e.getMessage());
+            return BatchSearchResult.failed(ErrorResponse.of(e));
+        }
+    }
+
+    /*
+     * The formula is compiled (or taken from the compiled formulas) before anything is fetched, so an invalid
+     * formula costs no GitHub call.
+     * */
+    private VersionedScorer scorerFor(String formula) {
+        if (formula == null || formula.isBlank()) {
+            return reloadableScorer.current();
+        }
+        return new VersionedScorer(FORMULA_WEIGHTS_VERSION, null, scoringFormulas.scorer(formula));
+    }
+
+    private static List<Integer> pageNumbers(int limit, int pageSize) {
+        int pageCount = (limit + pageSize - 1) / pageSize;
+        return IntStream.rangeClosed(1, pageCount).boxed().toList();
+    }
+
+    private record FetchedPage(int page, SearchResult result) {
+    }
+
+    /*
+     * stale marks a response served from the cache past its ttl, cached one served without calling GitHub.
+     * */
+    private record SearchResult(SearchRepositoriesResponse response, boolean stale, boolean cached) {
+    }
+
+    /*
+     * Results can shift between pages while they are fetched, so a repository may show up on two pages.
+     * */
+    private List<Repository> mergePages(List<SearchResult> results) {
+        return mergePages(results, 0, Integer.MAX_VALUE);
+    }
+
+    /*
+     * results are the consecutive pages of one search starting at page 1, of which only the repositories within the
+     * first limit positions of the ranking are merged.
+     * */
+    private List<Repository> mergePages(List<SearchResult> results, int pageSize, int limit) {
+        var seenIds = new HashSet<Integer>();
+        var merged = new ArrayList<Repository>();
+        for (int index = 0; index < results.size(); index++) {
+            var page = results.get(index).response();
+            if (page == null || page.items() == null) {
+                continue;
+            }
+            long remaining = limit - (long) index * pageSize;
+            for (int position = 0; position < page.items().size() && position < remaining; position++) {
+                var repository = page.items().get(position);
+                if (seenIds.add(repository.id())) {
+                    merged.add(repository);
+                }
+            }
+        }
+        return merged;
     }
 
     /*
@@ -55,74 +539,247 @@ public class GithubRepositorySearchService implements RepositorySearchService {
                 .buildQueryString();
     }
 
-    private SearchRepositoriesResponse searchRepositories(String query, int page, int pageSize) {
-        SearchRepositoriesResponse response = null;
+    /*
+     * Concurrent callers asking for the same query and page share one upstream call (and its mapped exception),
+     * so a popular query going cold costs a single request against the GitHub search rate limit.
+     *
+     * Past its ttl, a response within max-stale is served right away while one background refresh per key runs
+     * (stale-while-revalidate), or, with that disabled, only when GitHub answers with a server error or not at all,
+     * or the search is rate limited: by GitHub, by the local budget shedding it, or by the replica owning the page.
+     *
+     * searchQuery is what the query was built from, with which the page is asked for at the replica owning it. Pages
+     * without one (the windows of a crawl) are searched locally and not counted as popular searches to prefetch.
+     * */
+    private SearchResult searchRepositories(String query, SearchRepositoryQuery searchQuery, int page, int pageSize) {
+        var cacheKey = new SearchCacheKey(query, page, pageSize);
+        if (searchQuery != null) {
+            popularSearches.record(cacheKey);
+        }
+        var cached = searchResultCache.get(cacheKey);
+        if (cached.isPresent()) {
+            log.info("Serving GitHub repository search from cache for query: {}", query);
+            return new SearchResult(cached.get(), false, true);
+        }
+
+        var stale = searchResultCache.getStale(cacheKey);
+        if (stale.isPresent() && searchResultCache.staleWhileRevalidate()) {
+            log.info("Serving stale GitHub repository search while refreshing query: {}", query);
+            staleWhileRevalidating.increment();
+            revalidate(cacheKey, searchQuery);
+            return new SearchResult(stale.get(), true, true);
+        }
+
+        SearchResult result = null;
+        try {
+            result = new SearchResult(inFlightSearches.execute(cacheKey, () -> fetchRepositories(cacheKey, searchQuery)),
+                    false, false);
+        } catch (FeignException e) {
+            if (stale.isPresent() && (isUpstreamFailure(e) || isRateLimited(e))) {
+                return staleOnUpstreamError(query, stale.get(), e);
+            }
+            mapException(e);
+        } catch (TooManyRequestsException e) {
+            if (stale.isPresent()) {
+                return staleOnUpstreamError(query, stale.get(), e);
+            }
+            throw e;
+        }
+        return result;
+    }
+
+    private SearchResult staleOnUpstreamError(String query, SearchRepositoriesResponse stale, RuntimeException e) {
+        log.warn("GitHub search failed, serving stale result for query {}: {}", query, e.getMessage());
+        staleOnUpstreamError.increment();
+        return new SearchResult(stale, true, false);
+    }
+
+    private void revalidate(SearchCacheKey cacheKey, SearchRepositoryQuery searchQuery) {
+        if (!revalidating.add(cacheKey)) {
+            return;
+        }
+        Thread.ofVirtual().name("github-search-revalidate").start(() -> {
+            try {
+                inFlightSearches.execute(cacheKey, () -> fetchRepositories(cacheKey, searchQuery));
+            } catch (RuntimeException e) {
+                log.warn("Background refresh of GitHub search failed for query {}: {}", cacheKey.query(), e.getMessage());
+            } finally {
+                revalidating.remove(cacheKey);
+            }
+        });
+    }
+
+    /*
+     * Fetches the search page from GitHub into the cache even if a fresh entry exists, sharing the call with
+     * concurrent requests for the same page. Used to refresh popular pages before they expire.
+     * */
+    void prefetch(SearchCacheKey cacheKey) {
+        try {
+            inFlightSearches.execute(cacheKey, () -> fetchFromGithub(cacheKey));
+        } catch (FeignException e) {
+            mapException(e);
+        }
+    }
+
+    /*
+     * Answers another replica asking for a page this replica owns: from the cache, or from GitHub, sharing the call
+     * with concurrent requests for the same page. The GitHub query is built here exactly as for the asking replica.
+     * Never asks another replica in turn, even if the replicas disagree about the owner. Empty when GitHub answered
+     * without a body.
+     * */
+    @Override
+    public Optional<CachedSearch> searchForPeer(SearchRepositoryQuery query, PageRequest pageRequest) {
+        var cacheKey = new SearchCacheKey(buildSearchQuery(query), pageRequest.page(), pageRequest.pageSize());
+        popularSearches.record(cacheKey);
+        var cached = searchResultCache.getEntry(cacheKey);
+        if (cached.isPresent()) {
+            return cached;
+        }
         try {
-            log.info("Starting GitHub repository search with query: {}", query);
-            response = githubClient.searchRepositories(query, pageSize, page, STARS, DESC);
-            if (response != null) log.info("Found results, total count: {}", response.total_count());
+            var response = inFlightSearches.execute(cacheKey, () -> fetchLocally(cacheKey));
+            return response == null ? Optional.empty() : Optional.of(new CachedSearch(cacheKey, response, Instant.now()));
         } catch (FeignException e) {
             mapException(e);
+            return Optional.empty();
         }
+    }
+
+    /*
+     * A page owned by another replica is taken from its owner and cached here until the owner's copy expires, so
+     * every page is searched on GitHub by one replica only. Pages this replica owns, and all pages while the owner
+     * is unavailable, are searched locally.
+     * */
+    private SearchRepositoriesResponse fetchRepositories(SearchCacheKey cacheKey, SearchRepositoryQuery searchQuery) {
+        var cached = searchResultCache.peek(cacheKey);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        if (searchQuery == null || searchQuery.createdAfter() == null) {
+            return fetchFromGithub(cacheKey);
+        }
+        Optional<CachedSearch> shared = searchPeers.fetchFromOwner(cacheKey, searchQuery);
+        if (shared.isPresent()) {
+            searchResultCache.restore(shared.get());
+            return shared.get().response();
+        }
+        return fetchFromGithub(cacheKey);
+    }
+
+    private SearchRepositoriesResponse fetchLocally(SearchCacheKey cacheKey) {
+        var cached = searchResultCache.peek(cacheKey);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        return fetchFromGithub(cacheKey);
+    }
+
+    private SearchRepositoriesResponse fetchFromGithub(SearchCacheKey cacheKey) {
+        log.info("Starting GitHub repository search with query: {}", cacheKey.query());
+        var response = githubClient.searchRepositories(cacheKey.query(), cacheKey.pageSize(), cacheKey.page(), STARS, DESC);
+        if (response != null) log.info("Found results, total count: {}", response.total_count());
+        searchResultCache.put(cacheKey, response);
         return response;
     }
 
 
-    private ScoredRepositoriesResponse mapToScoredResponse(SearchRepositoriesResponse response, int page, int pageSize) {
+    private ScoredRepositoriesResponse mapToScoredResponse(SearchResult result, String language,
+                                                           int page, int pageSize, VersionedScorer scorer) {
+        var response = result.response();
         if (response == null || CollectionUtils.isEmpty(response.items())) {
-            return new ScoredRepositoriesResponse(0, page, pageSize, Collections.emptyList());
+            return new ScoredRepositoriesResponse(0, page, pageSize, Collections.emptyList(), scorer.version(),
+                    result.stale());
         }
 
+        long now = Instant.now().getEpochSecond();
+        long start = System.nanoTime();
         var repositories = response.items().stream()
-                .map(this::toScoredRepository)
+                .map(repository -> toScoredRepository(repository, now, scorer.scorer()))
                 .sorted(Comparator.comparingDouble(ScoredRepository::score).reversed())
                 .toList();
-        return new ScoredRepositoriesResponse(response.total_count(), page, pageSize, repositories);
+        scoringMetrics.recordBatch(language, repositories.size(), System.nanoTime() - start);
+        return new ScoredRepositoriesResponse(response.total_count(), page, pageSize, repositories, scorer.version(),
+                result.stale());
 
     }
 
-    private ScoredRepository toScoredRepository(Repository repository) {
-        Instant updatedAtInstant = getUpdatedAtInstant(repository);
-        long daysSinceLastUpdated = ChronoUnit.DAYS.between(updatedAtInstant, Instant.now());
-        double score = repositoryScorer.calculateScore(
+    /*
+     * now and the scorer are taken once per response by the caller, now in epoch seconds like the repository
+     * timestamps.
+     * */
+    private ScoredRepository toScoredRepository(Repository repository, long now, RepositoryScorer repositoryScorer) {
+        return toScoredRepository(repository, calculateScore(repository, now, repositoryScorer));
+    }
+
+    private double calculateScore(Repository repository, long now, RepositoryScorer repositoryScorer) {
+        long updatedAt = getUpdatedAt(repository);
+        long createdAt = repository.created_at() != GithubTimestamps.UNKNOWN ? repository.created_at() : updatedAt;
+        return repositoryScorer.calculateScore(
                 repository.stargazers_count(),
                 repository.forks_count(),
-                daysSinceLastUpdated
+                (now - updatedAt) / GithubTimestamps.SECONDS_PER_DAY,
+                (now - createdAt) / GithubTimestamps.SECONDS_PER_DAY
         );
+    }
+
+    private static ScoredRepository toScoredRepository(Repository repository, double score) {
         return new ScoredRepository(
                 repository.id(),
                 repository.name(),
                 repository.description(),
                 score,
                 repository.language(),
-                repository.created_at(),
-                repository.pushed_at(),
+                GithubTimestamps.format(repository.created_at()),
+                GithubTimestamps.format(repository.pushed_at()),
                 repository.stargazers_count(),
                 repository.forks_count()
         );
     }
 
+    /*
+     * GitHub answers an exhausted primary rate limit with 403 and X-RateLimit-Remaining: 0, and secondary rate limits
+     * with 403 or 429 and a Retry-After header.
+     * */
+    private static boolean isRateLimited(FeignException exception) {
+        if (exception.status() != 403 && exception.status() != 429) {
+            return false;
+        }
+        var headers = exception.responseHeaders();
+        return exception.status() == 429
+                || headers.containsKey("Retry-After")
+                || headers.getOrDefault("X-RateLimit-Remaining", List.of()).contains("0");
+    }
+
+    /*
+     * Server errors, and timeouts or connection failures (reported without a status), as opposed to GitHub
+     * rejecting the request itself.
+     * */
+    private static boolean isUpstreamFailure(FeignException exception) {
+        return exception.status() >= 500 || exception.status() < 0;
+    }
+
     private void mapException(FeignException exception) {
         if (exception.status() == 422) {
             throw new UnprocessableEntityException("Search criteria cannot be applied or API has been spammed.");
         }
+        if (isRateLimited(exception)) {
+            log.warn("GitHub search rate limit exceeded: {}", exception.getMessage());
+            throw new TooManyRequestsException("GitHub search rate limit reached, please try again later.");
+        }
         log.error("Something went wrong while searching for repositories: {}", exception.getMessage());
         throw new InternalServerErrorException(exception.getMessage());
     }
 
     /*
      * This logic can be improved further. Github guarantees created_at, so if pushed_at is null we can use created_at.
-     * If something goes wrong with parsing we default to minimum date github repo was created.
+     * If neither could be parsed we default to minimum date github repo was created.
      * Alternatively, we can ignore this repository.
      * */
-    private Instant getUpdatedAtInstant(Repository repository) {
-        Instant instant = null;
-        var lastUpdated = repository.pushed_at() == null ? repository.created_at() : repository.pushed_at();
-        try {
-            instant = Instant.parse(lastUpdated);
-        } catch (DateTimeParseException ex) {
-            log.error("Could not parse the pushed at property: {} ", lastUpdated);
+    private long getUpdatedAt(Repository repository) {
+        if (repository.pushed_at() != GithubTimestamps.UNKNOWN) {
+            return repository.pushed_at();
+        }
+        if (repository.created_at() != GithubTimestamps.UNKNOWN) {
+            return repository.created_at();
         }
-        return instant == null ? MIN_GITHUB_PUSHED_AT : instant;
+        return MIN_GITHUB_PUSHED_AT;
     }
 }
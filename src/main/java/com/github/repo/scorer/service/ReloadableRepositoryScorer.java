@@ -0,0 +1,45 @@
+package com.github.repo.scorer.service;
+
+import com.github.repo.scorer.config.RepositoryScorerConfigurationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+ * Holds the active scorer, starting from the configured weights at version 1. New weights are validated once by
+ * building a new immutable scorer, which is then published with a single reference swap. Requests take the current
+ * scorer once and use it throughout, so a request in flight during a reload finishes on the weights it started
+ * with and scoring itself never synchronizes.
+ * */
+@Service
+public class ReloadableRepositoryScorer {
+    private static final Logger log = LoggerFactory.getLogger(ReloadableRepositoryScorer.class);
+
+    private final AtomicReference<VersionedScorer> active;
+
+    @Autowired
+    public ReloadableRepositoryScorer(RepositoryScorerConfigurationProperties properties) {
+        this(new WeightedRepositoryScorer(properties), properties);
+    }
+
+    ReloadableRepositoryScorer(RepositoryScorer initialScorer, RepositoryScorerConfigurationProperties weights) {
+        this.active = new AtomicReference<>(new VersionedScorer(1, weights, initialScorer));
+    }
+
+    public VersionedScorer current() {
+        return active.get();
+    }
+
+    /*
+     * Throws IllegalArgumentException for invalid weights, leaving the active scorer in place.
+     * */
+    public VersionedScorer reload(RepositoryScorerConfigurationProperties weights) {
+        var scorer = new WeightedRepositoryScorer(weights);
+        var reloaded = active.updateAndGet(previous -> new VersionedScorer(previous.version() + 1, weights, scorer));
+        log.info("Activated scoring weights version {}: {}", reloaded.version(), weights);
+        return reloaded;
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.repo.scorer.service;
+
+import com.github.repo.scorer.client.GithubTimestamps;
+import com.github.repo.scorer.client.Repository;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/*
+ * Column-wise copy of the scoring inputs of a list of repositories: row i of every column belongs to the i-th
+ * repository of the list it was built from. Bulk scoring walks the primitive columns instead of dereferencing one
+ * Repository record per score.
+ *
+ * updatedAt and createdAt keep epoch seconds rather than epoch days, so the days since the last update or creation
+ * are computed exactly as on the per-record path. The id column breaks score ties in the top-k selection.
+ * */
+public final class RepositoryColumns {
+    private final int size;
+    private final int[] ids;
+    private final int[] stars;
+    private final int[] forks;
+    private final long[] updatedAt;
+    private final long[] createdAt;
+
+    private RepositoryColumns(int size) {
+        this.size = size;
+        this.ids = new int[size];
+        this.stars = new int[size];
+        this.forks = new int[size];
+        this.updatedAt = new long[size];
+        this.createdAt = new long[size];
+    }
+
+    /*
+     * updatedAt resolves the timestamp the score ages by, in epoch seconds. It also stands in for an unknown
+     * created_at.
+     * */
+    public static RepositoryColumns of(List<Repository> repositories, ToLongFunction<Repository> updatedAt) {
+        var columns = new RepositoryColumns(repositories.size());
+        for (int row = 0; row < columns.size; row++) {
+            var repository = repositories.get(row);
+            columns.ids[row] = repository.id();
+            columns.stars[row] = repository.stargazers_count();
+            columns.forks[row] = repository.forks_count();
+            columns.updatedAt[row] = updatedAt.applyAsLong(repository);
+            columns.createdAt[row] = repository.created_at() != GithubTimestamps.UNKNOWN
+                    ? repository.created_at()
+                    : columns.updatedAt[row];
+        }
+        return columns;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    int[] ids() {
+        return ids;
+    }
+
+    int[] stars() {
+        return stars;
+    }
+
+    int[] forks() {
+        return forks;
+    }
+
+    long[] updatedAt() {
+        return updatedAt;
+    }
+
+    long[] createdAt() {
+        return createdAt;
+    }
+}
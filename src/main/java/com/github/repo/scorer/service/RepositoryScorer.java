@@ -1,5 +1,26 @@
 package com.github.repo.scorer.service;
 
+import com.github.repo.scorer.client.GithubTimestamps;
+
 public interface RepositoryScorer {
-    double calculateScore(int stars, int forks, long daysSinceLastUpdated);
+    /*
+     * Scorers that do not age repositories by their creation date ignore daysSinceCreated.
+     * */
+    double calculateScore(int stars, int forks, long daysSinceLastUpdated, long daysSinceCreated);
+
+    /*
+     * Scores every row of the columns into scores[row], with the same result as calculateScore per row.
+     * now is in epoch seconds like the updatedAt and createdAt columns.
+     * */
+    default void calculateScores(RepositoryColumns columns, long now, double[] scores) {
+        int[] stars = columns.stars();
+        int[] forks = columns.forks();
+        long[] updatedAt = columns.updatedAt();
+        long[] createdAt = columns.createdAt();
+        for (int row = 0; row < columns.size(); row++) {
+            scores[row] = calculateScore(stars[row], forks[row],
+                    (now - updatedAt[row]) / GithubTimestamps.SECONDS_PER_DAY,
+                    (now - createdAt[row]) / GithubTimestamps.SECONDS_PER_DAY);
+        }
+    }
 }
@@ -1,8 +1,29 @@
 package com.github.repo.scorer.service;
 
+import com.github.repo.scorer.cache.CachedSearch;
+import com.github.repo.scorer.model.BatchSearchResult;
+import com.github.repo.scorer.model.CrawledRepositoriesResponse;
+import com.github.repo.scorer.model.PageRequest;
 import com.github.repo.scorer.model.ScoredRepositoriesResponse;
+import com.github.repo.scorer.model.ScoredRepositoriesTrailer;
+import com.github.repo.scorer.model.ScoredRepository;
+import com.github.repo.scorer.model.SearchRepositoryQuery;
 import com.github.repo.scorer.model.SearchRepositoryRequest;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
 public interface RepositorySearchService {
     ScoredRepositoriesResponse searchAndScore(SearchRepositoryRequest request);
+
+    ScoredRepositoriesResponse searchAndScoreTop(SearchRepositoryQuery query, int limit);
+
+    ScoredRepositoriesTrailer streamScoredTop(SearchRepositoryQuery query, int limit, Consumer<List<ScoredRepository>> consumer);
+
+    CrawledRepositoriesResponse crawlAndScoreTop(SearchRepositoryQuery query, int limit);
+
+    List<BatchSearchResult> searchAndScoreAll(List<SearchRepositoryRequest> requests);
+
+    Optional<CachedSearch> searchForPeer(SearchRepositoryQuery query, PageRequest pageRequest);
 }
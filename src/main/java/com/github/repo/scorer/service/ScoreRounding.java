@@ -0,0 +1,38 @@
+package com.github.repo.scorer.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/*
+ * Rounds scores to two decimals with the same result as
+ * BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).doubleValue(), without allocating.
+ *
+ * BigDecimal.valueOf rounds the shortest decimal representation of the double, so a value printed as 1.005 rounds
+ * up even though the double itself is slightly below 1.005. Comparing against the double nearest to the halfway
+ * point gives the same decision: the shortest representation is at or above the halfway point exactly when the
+ * double is at or above the double nearest to it. This holds while the double is precise enough to tell the
+ * third decimal apart, larger or non-finite values fall back to BigDecimal.
+ * */
+public final class ScoreRounding {
+    private static final double MAX_PRIMITIVE_ROUNDING = 1e9;
+
+    private ScoreRounding() {
+    }
+
+    public static double roundHalfUp(double value) {
+        double magnitude = Math.abs(value);
+        if (!(magnitude < MAX_PRIMITIVE_ROUNDING)) {
+            return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).doubleValue();
+        }
+        long cents = (long) Math.floor(magnitude * 100);
+        double halfway = (2 * cents + 1) / 200.0;
+        if (magnitude >= halfway) {
+            cents++;
+        }
+        if (cents == 0) {
+            return 0.0;
+        }
+        double rounded = cents / 100.0;
+        return value < 0 ? -rounded : rounded;
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.repo.scorer.service;
+
+import com.github.repo.scorer.cache.PopularSearches;
+import com.github.repo.scorer.cache.SearchCachePeers;
+import com.github.repo.scorer.cache.SearchResultCache;
+import com.github.repo.scorer.client.SearchRateLimiter;
+import com.github.repo.scorer.config.SearchPrefetchConfigurationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/*
+ * Keeps the most popular GitHub search pages in the cache: every interval, each of the top-queries pages whose cached
+ * entry is missing or would expire before the next run is fetched again. A run stops as soon as the GitHub search
+ * budget falls to reserved-budget, so prefetching never takes the last requests of a rate limit window from users.
+ *
+ * The first run right after startup warms the cache with the popular searches persisted by the previous instance.
+ * With the cache shared between replicas, only the pages this replica owns are prefetched; the others are refreshed
+ * by their owners.
+ * */
+@Component
+public class SearchPrefetcher {
+    private static final Logger log = LoggerFactory.getLogger(SearchPrefetcher.class);
+
+    private final PopularSearches popularSearches;
+    private final GithubRepositorySearchService searchService;
+    private final SearchResultCache searchResultCache;
+    private final SearchCachePeers searchPeers;
+    private final SearchRateLimiter rateLimiter;
+    private final boolean enabled;
+    private final int topQueries;
+    private final Duration interval;
+    private final int reservedBudget;
+    private final Counter prefetched;
+
+    public SearchPrefetcher(PopularSearches popularSearches,
+                            GithubRepositorySearchService searchService,
+                            SearchResultCache searchResultCache,
+                            SearchCachePeers searchPeers,
+                            SearchRateLimiter rateLimiter,
+                            SearchPrefetchConfigurationProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.popularSearches = popularSearches;
+        this.searchService = searchService;
+        this.searchResultCache = searchResultCache;
+        this.searchPeers = searchPeers;
+        this.rateLimiter = rateLimiter;
+        this.enabled = properties.enabled();
+        this.topQueries = properties.topQueries();
+        this.interval = properties.interval();
+        this.reservedBudget = properties.reservedBudget();
+        this.prefetched = Counter.builder("github.prefetch.fetched")
+                .description("Popular GitHub search pages fetched into the cache ahead of expiry")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${github.prefetch.interval}")
+    public void prefetch() {
+        if (!enabled) {
+            return;
+        }
+        int fetched = 0;
+        for (var search : popularSearches.top(topQueries)) {
+            if (!searchPeers.ownsLocally(search.key())
+                    || !searchResultCache.expiresWithin(search.key(), interval)) {
+                continue;
+            }
+            if (rateLimiter.remaining() <= reservedBudget) {
+                log.info("Stopping prefetch, GitHub search budget is down to the reserved {} requests", reservedBudget);
+                break;
+            }
+            try {
+                searchService.prefetch(search.key());
+                prefetched.increment();
+                fetched++;
+            } catch (RuntimeException e) {
+                log.warn("Could not prefetch GitHub search {}: {}", search.key(), e.getMessage());
+            }
+        }
+        if (fetched > 0) {
+            log.info("Prefetched {} popular GitHub search pages", fetched);
+        }
+        popularSearches.persist(topQueries);
+    }
+}
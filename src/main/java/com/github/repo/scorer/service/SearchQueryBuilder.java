@@ -3,12 +3,20 @@ package com.github.repo.scorer.service;
 public class SearchQueryBuilder {
     private final String language;
     private final String createdAfter;
+    private final String createdFrom;
+    private final String createdTo;
+    private final String pushedFrom;
+    private final String pushedTo;
     private final boolean archived;
     private final boolean mirror;
 
     private SearchQueryBuilder(Builder builder) {
         this.language = builder.language;
         this.createdAfter = builder.createdAfter;
+        this.createdFrom = builder.createdFrom;
+        this.createdTo = builder.createdTo;
+        this.pushedFrom = builder.pushedFrom;
+        this.pushedTo = builder.pushedTo;
         this.archived = builder.archived;
         this.mirror = builder.mirror;
     }
@@ -19,10 +27,16 @@ public class SearchQueryBuilder {
             query.append("language:").append(language).append(" ");
         }
 
-        if (createdAfter != null && !createdAfter.isBlank()) {
+        if (createdFrom != null && createdTo != null) {
+            query.append("created:").append(createdFrom).append("..").append(createdTo).append(" ");
+        } else if (createdAfter != null && !createdAfter.isBlank()) {
             query.append("created:>").append(createdAfter).append(" ");
         }
 
+        if (pushedFrom != null && pushedTo != null) {
+            query.append("pushed:").append(pushedFrom).append("..").append(pushedTo).append(" ");
+        }
+
         query.append("archived:").append(archived).append(" ");
         query.append("mirror:").append(mirror);
 
@@ -32,6 +46,10 @@ public class SearchQueryBuilder {
     public static class Builder {
         private final String language;
         private final String createdAfter;
+        private String createdFrom;
+        private String createdTo;
+        private String pushedFrom;
+        private String pushedTo;
         private boolean archived = false;
         private boolean mirror = false;
 
@@ -40,6 +58,24 @@ public class SearchQueryBuilder {
             this.createdAfter = createdAfter;
         }
 
+        /*
+         * Inclusive range of created_at dates or ISO-8601 timestamps, in place of created after.
+         * */
+        public Builder createdBetween(String createdFrom, String createdTo) {
+            this.createdFrom = createdFrom;
+            this.createdTo = createdTo;
+            return this;
+        }
+
+        /*
+         * Inclusive range of pushed_at dates or ISO-8601 timestamps.
+         * */
+        public Builder pushedBetween(String pushedFrom, String pushedTo) {
+            this.pushedFrom = pushedFrom;
+            this.pushedTo = pushedTo;
+            return this;
+        }
+
         public Builder archived(boolean archived) {
             this.archived = archived;
             return this;
@@ -0,0 +1,103 @@
+package com.github.repo.scorer.service;
+
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/*
+ * Picks the k best rows of a score array, best first, ordered like a stable sort by score descending: equal scores
+ * are ordered by tie key ascending when tie keys are given, and by row otherwise (so by input order).
+ *
+ * When k is smaller than the number of rows, a bounded min-heap of row indices keeps the k best seen so far, which
+ * is O(n log k) and allocates only the k sized heap instead of sorting boxed rows. Otherwise all rows are sorted.
+ * */
+final class TopK {
+
+    private TopK() {
+    }
+
+    static int[] select(double[] scores, int length, int k) {
+        return select(scores, null, length, k);
+    }
+
+    static int[] select(double[] scores, int[] tieKeys, int length, int k) {
+        if (k <= 0 || length == 0) {
+            return new int[0];
+        }
+        if (k >= length) {
+            return sortAll(scores, tieKeys, length);
+        }
+
+        /* heap[0] is the worst of the k best rows seen so far */
+        int[] heap = new int[k];
+        for (int row = 0; row < k; row++) {
+            heap[row] = row;
+            siftUp(heap, row, scores, tieKeys);
+        }
+        for (int row = k; row < length; row++) {
+            if (ranksBefore(row, heap[0], scores, tieKeys)) {
+                heap[0] = row;
+                siftDown(heap, k, scores, tieKeys);
+            }
+        }
+
+        int[] ranked = new int[k];
+        for (int size = k; size > 0; size--) {
+            ranked[size - 1] = heap[0];
+            heap[0] = heap[size - 1];
+            siftDown(heap, size - 1, scores, tieKeys);
+        }
+        return ranked;
+    }
+
+    private static int[] sortAll(double[] scores, int[] tieKeys, int length) {
+        Comparator<Integer> ranking = (a, b) -> ranksBefore(a, b, scores, tieKeys) ? -1 : ranksBefore(b, a, scores, tieKeys) ? 1 : 0;
+        return IntStream.range(0, length).boxed().sorted(ranking).mapToInt(Integer::intValue).toArray();
+    }
+
+    private static boolean ranksBefore(int a, int b, double[] scores, int[] tieKeys) {
+        int byScore = Double.compare(scores[a], scores[b]);
+        if (byScore != 0) {
+            return byScore > 0;
+        }
+        if (tieKeys != null && tieKeys[a] != tieKeys[b]) {
+            return tieKeys[a] < tieKeys[b];
+        }
+        return a < b;
+    }
+
+    private static void siftUp(int[] heap, int index, double[] scores, int[] tieKeys) {
+        int row = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksBefore(heap[parent], row, scores, tieKeys)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = row;
+    }
+
+    private static void siftDown(int[] heap, int size, double[] scores, int[] tieKeys) {
+        if (size == 0) {
+            return;
+        }
+        int row = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && ranksBefore(heap[child], heap[child + 1], scores, tieKeys)) {
+                child++;
+            }
+            if (!ranksBefore(row, heap[child], scores, tieKeys)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = row;
+    }
+}
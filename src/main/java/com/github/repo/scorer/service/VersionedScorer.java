@@ -0,0 +1,9 @@
+package com.github.repo.scorer.service;
+
+import com.github.repo.scorer.config.RepositoryScorerConfigurationProperties;
+
+/*
+ * A scorer together with the weights it was built from and the version those weights were activated as.
+ * */
+public record VersionedScorer(long version, RepositoryScorerConfigurationProperties weights, RepositoryScorer scorer) {
+}
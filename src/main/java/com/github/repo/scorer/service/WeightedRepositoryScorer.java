@@ -1,32 +1,66 @@
 package com.github.repo.scorer.service;
 
+import com.github.repo.scorer.client.GithubTimestamps;
 import com.github.repo.scorer.config.RepositoryScorerConfigurationProperties;
-import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-
-@Service
+/*
+ * Immutable, built once per set of weights by ReloadableRepositoryScorer.
+ * */
 public class WeightedRepositoryScorer implements RepositoryScorer {
 
-    private final RepositoryScorerConfigurationProperties properties;
+    private final double starsWeight;
+    private final double forksWeight;
+    private final double updatedAtWeight;
 
     public WeightedRepositoryScorer(RepositoryScorerConfigurationProperties properties) {
-        this.properties = properties;
+        if (properties.starsWeight() < 0 || properties.forksWeight() < 0 || properties.updatedAtWeight() < 0) {
+            throw new IllegalArgumentException("Negative weights are not allowed");
+        }
+        if (!Double.isFinite(properties.starsWeight()) || !Double.isFinite(properties.forksWeight())
+                || !Double.isFinite(properties.updatedAtWeight())) {
+            throw new IllegalArgumentException("Weights must be finite numbers");
+        }
+        this.starsWeight = properties.starsWeight();
+        this.forksWeight = properties.forksWeight();
+        this.updatedAtWeight = properties.updatedAtWeight();
     }
 
+    /*
+     * The weights do not age repositories by their creation date.
+     * */
     @Override
+    public double calculateScore(int stars, int forks, long daysSinceLastUpdated, long daysSinceCreated) {
+        return calculateScore(stars, forks, daysSinceLastUpdated);
+    }
+
     public double calculateScore(int stars, int forks, long daysSinceLastUpdated) {
-        if (properties.starsWeight() < 0 || properties.forksWeight() < 0 || properties.updatedAtWeight() < 0) {
-            throw new IllegalArgumentException("Negative weights are not allowed");
-        }
-        double starsScore = Math.log(stars + 1) * properties.starsWeight();
-        double forksScore = Math.log(forks + 1) * properties.forksWeight();
+        double starsScore = Math.log(stars + 1) * starsWeight;
+        double forksScore = Math.log(forks + 1) * forksWeight;
 
-        double updatedAtScore = properties.updatedAtWeight() / (1 + daysSinceLastUpdated);
+        double updatedAtScore = updatedAtWeight / (1 + daysSinceLastUpdated);
 
-        BigDecimal roundedScore = BigDecimal.valueOf(starsScore + forksScore + updatedAtScore);
-        roundedScore = roundedScore.setScale(2, RoundingMode.HALF_UP);
-        return roundedScore.doubleValue();
+        return ScoreRounding.roundHalfUp(starsScore + forksScore + updatedAtScore);
+    }
+
+    /*
+     * One pass over the primitive columns with the weights in locals, evaluating the same expression as
+     * calculateScore so bulk and per-record scores are identical. Math.log is a JIT intrinsic, the Vector API
+     * is not used because its vector log is not guaranteed to match Math.log to the last bit.
+     * */
+    @Override
+    public void calculateScores(RepositoryColumns columns, long now, double[] scores) {
+        int[] stars = columns.stars();
+        int[] forks = columns.forks();
+        long[] updatedAt = columns.updatedAt();
+        double starsWeight = this.starsWeight;
+        double forksWeight = this.forksWeight;
+        double updatedAtWeight = this.updatedAtWeight;
+        for (int row = 0; row < columns.size(); row++) {
+            long daysSinceLastUpdated = (now - updatedAt[row]) / GithubTimestamps.SECONDS_PER_DAY;
+            double starsScore = Math.log(stars[row] + 1) * starsWeight;
+            double forksScore = Math.log(forks[row] + 1) * forksWeight;
+            double updatedAtScore = updatedAtWeight / (1 + daysSinceLastUpdated);
+            scores[row] = ScoreRounding.roundHalfUp(starsScore + forksScore + updatedAtScore);
+        }
     }
 }
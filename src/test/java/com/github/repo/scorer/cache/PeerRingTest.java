@@ -0,0 +1,56 @@
+package com.github.repo.scorer.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PeerRingTest {
+
+    private static final URI A = URI.create("http://replica-a:8080");
+    private static final URI B = URI.create("http://replica-b:8080");
+    private static final URI C = URI.create("http://replica-c:8080");
+    private static final List<String> KEYS = IntStream.range(0, 3000).mapToObj(i -> "language:lang" + i).toList();
+
+    @Test
+    void testEveryReplicaComputesTheSameOwners() {
+        var ring = new PeerRing(List.of(A, B, C), 128);
+        var reordered = new PeerRing(List.of(C, A, B), 128);
+
+        for (String key : KEYS) {
+            assertEquals(ring.owner(key), reordered.owner(key));
+        }
+    }
+
+    @Test
+    void testKeysAreSpreadOverAllMembers() {
+        var ring = new PeerRing(List.of(A, B, C), 128);
+        Map<URI, Integer> owned = new HashMap<>();
+        KEYS.forEach(key -> owned.merge(ring.owner(key), 1, Integer::sum));
+
+        assertEquals(3, owned.size());
+        owned.values().forEach(count -> assertTrue(count > KEYS.size() / 6, "unbalanced ring: " + owned));
+    }
+
+    @Test
+    void testRemovingAMemberOnlyMovesItsKeys() {
+        var ring = new PeerRing(List.of(A, B, C), 128);
+        var withoutC = new PeerRing(List.of(A, B), 128);
+
+        for (String key : KEYS) {
+            if (!ring.owner(key).equals(C)) {
+                assertEquals(ring.owner(key), withoutC.owner(key));
+            }
+        }
+    }
+
+    @Test
+    void testEmptyRingHasNoOwner() {
+        assertNull(new PeerRing(List.of(), 128).owner("language:java"));
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.repo.scorer.cache;
+
+import com.github.repo.scorer.config.SearchPrefetchConfigurationProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PopularSearchesTest {
+
+    private static final SearchCacheKey JAVA = new SearchCacheKey("language:java", 1, 100);
+    private static final SearchCacheKey GO = new SearchCacheKey("language:go", 1, 100);
+    private static final SearchCacheKey RUST = new SearchCacheKey("language:rust", 1, 100);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testTopReturnsMostFrequentSearchesFirst() {
+        var popularSearches = popularSearches(2, directory.resolve("popular.json"));
+        record(popularSearches, GO, 2);
+        record(popularSearches, JAVA, 5);
+        record(popularSearches, RUST, 1);
+
+        var top = popularSearches.top(2);
+
+        assertEquals(List.of(JAVA, GO), top.stream().map(PopularSearches.PopularSearch::key).toList());
+        assertEquals(5, top.get(0).count());
+    }
+
+    @Test
+    void testFrequentSearchReplacesLeastFrequentCandidate() {
+        /* one top query keeps four candidates */
+        var popularSearches = popularSearches(1, directory.resolve("popular.json"));
+        for (int i = 0; i < 4; i++) {
+            popularSearches.record(new SearchCacheKey("language:java", i + 1, 100));
+        }
+        record(popularSearches, RUST, 3);
+
+        assertEquals(RUST, popularSearches.top(1).get(0).key());
+        assertEquals(4, popularSearches.top(10).size());
+    }
+
+    @Test
+    void testPersistedSearchesAreLoadedAfterRestart() {
+        Path path = directory.resolve("popular.json");
+        var popularSearches = popularSearches(2, path);
+        record(popularSearches, JAVA, 3);
+        record(popularSearches, GO, 1);
+        popularSearches.persist(2);
+
+        var restarted = popularSearches(2, path);
+        restarted.load();
+
+        assertEquals(popularSearches.top(2), restarted.top(2));
+    }
+
+    @Test
+    void testDisabledTrackingRecordsNothing() {
+        var popularSearches = new PopularSearches(
+                new SearchPrefetchConfigurationProperties(false, 2, Duration.ofMinutes(1), 0, null));
+        popularSearches.record(JAVA);
+
+        assertTrue(popularSearches.top(2).isEmpty());
+    }
+
+    private static PopularSearches popularSearches(int topQueries, Path path) {
+        return new PopularSearches(
+                new SearchPrefetchConfigurationProperties(true, topQueries, Duration.ofMinutes(1), 0, path));
+    }
+
+    private static void record(PopularSearches popularSearches, SearchCacheKey key, int times) {
+        for (int i = 0; i < times; i++) {
+            popularSearches.record(key);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.github.repo.scorer.cache;
+
+import com.github.repo.scorer.GithubRepoScorerApplication;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Runs three replicas sharing the search cache on localhost against one GitHub stub, and checks that every distinct
+ * search reaches GitHub once whichever replicas are asked, and that a replica whose owner is gone searches itself.
+ * The peer endpoint only answers replicas sending the secret, and only for validated searches.
+ * */
+class SearchCachePeersTest {
+
+    private static final int REPLICAS = 3;
+    private static final String SECRET = "peer-secret";
+    private static final byte[] EMPTY_SEARCH_RESPONSE = "{\"total_count\":0,\"items\":[]}".getBytes(StandardCharsets.UTF_8);
+
+    private static final Map<String, AtomicInteger> githubSearches = new ConcurrentHashMap<>();
+    private static final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private static HttpServer githubStub;
+    private static final List<Integer> ports = new ArrayList<>();
+    private static final List<ConfigurableApplicationContext> replicas = new ArrayList<>();
+
+    @BeforeAll
+    static void startReplicas() throws IOException {
+        githubStub = startGithubStub();
+        for (int i = 0; i < REPLICAS; i++) {
+            ports.add(freePort());
+        }
+        String members = String.join(",", ports.stream().map(port -> "http://localhost:" + port).toList());
+        for (int port : ports) {
+            replicas.add(new SpringApplicationBuilder(GithubRepoScorerApplication.class).run(
+                    "--server.port=" + port,
+                    "--github.api.url=http://localhost:" + githubStub.getAddress().getPort(),
+                    "--github.peers.enabled=true",
+                    "--github.peers.self=http://localhost:" + port,
+                    "--github.peers.members=" + members,
+                    "--github.peers.secret=" + SECRET,
+                    "--github.rate-limit.enabled=false",
+                    "--github.index.enabled=false",
+                    "--spring.main.banner-mode=off"));
+        }
+    }
+
+    @AfterAll
+    static void stopReplicas() {
+        replicas.forEach(ConfigurableApplicationContext::close);
+        githubStub.stop(0);
+    }
+
+    @Test
+    void testEverySearchReachesGithubOnceAndFailsOverWhenItsOwnerIsGone() throws Exception {
+        githubSearches.clear();
+        var languages = IntStream.range(0, 10).mapToObj(i -> "shared" + i).toList();
+        for (int port : ports) {
+            for (String language : languages) {
+                assertEquals(200, search(port, language));
+            }
+        }
+
+        assertEquals(languages.size(), githubSearches.size());
+        githubSearches.forEach((query, calls) -> assertEquals(1, calls.get(), query));
+        assertTrue(peerRequests(0, "served") + peerRequests(1, "served") + peerRequests(2, "served") > 0);
+
+        replicas.get(2).close();
+        githubSearches.clear();
+        var failover = IntStream.range(0, 20).mapToObj(i -> "failover" + i).toList();
+        for (String language : failover) {
+            assertEquals(200, search(ports.get(0), language));
+        }
+
+        assertEquals(failover.size(), githubSearches.size());
+        githubSearches.forEach((query, calls) -> assertEquals(1, calls.get(), query));
+        assertTrue(peerRequests(0, "failover") + peerRequests(0, "owner_down") > 0);
+    }
+
+    @Test
+    void testPeerEndpointRequiresTheSecretAndAValidSearch() throws Exception {
+        String validSearch = "?language=java&created_after=2020-01-01&page=1&page_size=10";
+
+        assertEquals(404, peerSearch(ports.get(0), validSearch, null));
+        assertEquals(404, peerSearch(ports.get(0), validSearch, "wrong-secret"));
+        assertEquals(400, peerSearch(ports.get(0), "?q=stars:%3E1&page=1&page_size=10", SECRET));
+        assertEquals(400, peerSearch(ports.get(0), "?language=java&created_after=yesterday&page=1&page_size=10", SECRET));
+        assertEquals(200, peerSearch(ports.get(0), validSearch, SECRET));
+        assertFalse(githubSearches.containsKey("stars:>1"));
+    }
+
+    private static int peerSearch(int port, String parameters, String secret) throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(URI.create(
+                "http://localhost:" + port + SearchCachePeers.PEER_SEARCH_PATH + parameters));
+        if (secret != null) {
+            request.header(SearchCachePeers.SECRET_HEADER, secret);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static int search(int port, String language) throws IOException, InterruptedException {
+        var uri = URI.create("http://localhost:" + port
+                + "/api/v1/repositories?language=" + language + "&created_after=2020-01-01");
+        return httpClient.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding())
+                .statusCode();
+    }
+
+    private static double peerRequests(int replica, String outcome) {
+        return replicas.get(replica).getBean(MeterRegistry.class)
+                .get("github.peers.requests").tag("outcome", outcome).counter().count();
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static HttpServer startGithubStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.createContext("/search/repositories", exchange -> {
+                String query = exchange.getRequestURI().getRawQuery();
+                for (String parameter : query.split("&")) {
+                    if (parameter.startsWith("q=")) {
+                        githubSearches.computeIfAbsent(URLDecoder.decode(parameter.substring(2), StandardCharsets.UTF_8),
+                                q -> new AtomicInteger()).incrementAndGet();
+                    }
+                }
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, EMPTY_SEARCH_RESPONSE.length);
+                exchange.getResponseBody().write(EMPTY_SEARCH_RESPONSE);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
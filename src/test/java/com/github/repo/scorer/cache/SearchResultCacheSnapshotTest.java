@@ -0,0 +1,118 @@
+package com.github.repo.scorer.cache;
+
+import com.github.repo.scorer.client.Repository;
+import com.github.repo.scorer.config.SearchCacheConfigurationProperties;
+import com.github.repo.scorer.config.SearchCacheSnapshotConfigurationProperties;
+import com.github.repo.scorer.model.SearchRepositoriesResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchResultCacheSnapshotTest {
+
+    private static final SearchCacheKey JAVA = new SearchCacheKey("language:java archived:false mirror:false", 1, 100);
+    private static final SearchCacheKey GO = new SearchCacheKey("language:go archived:false mirror:false", 2, 50);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRestoresCachedResponsesAfterRestart() {
+        var path = directory.resolve("search-cache.bin");
+        var response = new SearchRepositoriesResponse(2, List.of(
+                new Repository(1, "repo1", "first – ünïcode", "2020-11-18T12:00:00Z", "2025-11-18T12:00:00Z", 10, 20, "Java"),
+                new Repository(2, "repo2", null, null, "2025-01-01T00:00:00Z", 0, 5, null)));
+        var emptyResponse = new SearchRepositoriesResponse(0, null);
+        var cache = cache();
+        cache.put(JAVA, response);
+        cache.put(GO, emptyResponse);
+        snapshot(cache, path).persist();
+
+        var restartedCache = cache();
+        snapshot(restartedCache, path).load();
+
+        assertEquals(response, restartedCache.get(JAVA).orElseThrow());
+        assertEquals(emptyResponse, restartedCache.get(GO).orElseThrow());
+        assertEquals(response, restartedCache.getStale(JAVA).orElseThrow());
+    }
+
+    @Test
+    void testRestoredEntriesKeepTheirOriginalExpiry() {
+        var cache = cache();
+        var response = new SearchRepositoriesResponse(0, List.of());
+
+        assertTrue(cache.restore(new CachedSearch(JAVA, response, Instant.now().minus(Duration.ofMinutes(4)))));
+        assertFalse(cache.restore(new CachedSearch(GO, response, Instant.now().minus(Duration.ofMinutes(6)))));
+
+        assertTrue(cache.get(JAVA).isPresent());
+        assertTrue(cache.expiresWithin(JAVA, Duration.ofMinutes(1)));
+        assertFalse(cache.expiresWithin(JAVA, Duration.ofSeconds(30)));
+        assertTrue(cache.get(GO).isEmpty());
+    }
+
+    @Test
+    void testSnapshotKeepsFetchTimes() {
+        var path = directory.resolve("search-cache.bin");
+        var cache = cache();
+        var fetchedAt = Instant.now().minus(Duration.ofMinutes(3));
+        cache.restore(new CachedSearch(JAVA, new SearchRepositoriesResponse(0, List.of()), fetchedAt));
+        snapshot(cache, path).persist();
+
+        var restartedCache = cache();
+        snapshot(restartedCache, path).load();
+
+        var restored = restartedCache.entries().get(0);
+        assertEquals(JAVA, restored.key());
+        assertTrue(Duration.between(fetchedAt, restored.fetchedAt()).abs().compareTo(Duration.ofSeconds(1)) < 0);
+    }
+
+    @Test
+    void testUnreadableSnapshotStartsCold() throws Exception {
+        var path = directory.resolve("search-cache.bin");
+        var cache = cache();
+        cache.put(JAVA, new SearchRepositoriesResponse(0, List.of()));
+        snapshot(cache, path).persist();
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 3));
+
+        var truncated = cache();
+        snapshot(truncated, path).load();
+        Files.writeString(path, "{\"not\": \"a snapshot\"}");
+        var foreign = cache();
+        snapshot(foreign, path).load();
+
+        assertTrue(truncated.entries().isEmpty());
+        assertTrue(foreign.entries().isEmpty());
+    }
+
+    @Test
+    void testDisabledSnapshotNeitherWritesNorReads() {
+        var path = directory.resolve("search-cache.bin");
+        var cache = cache();
+        cache.put(JAVA, new SearchRepositoriesResponse(0, List.of()));
+
+        new SearchResultCacheSnapshot(cache, new SearchCacheSnapshotConfigurationProperties(false, path,
+                Duration.ofMinutes(1))).persist();
+
+        assertFalse(Files.exists(path));
+    }
+
+    private static SearchResultCache cache() {
+        return new SearchResultCache(new SearchCacheConfigurationProperties(true, Duration.ofMinutes(5), 100,
+                Duration.ofHours(1), false), new SimpleMeterRegistry());
+    }
+
+    private static SearchResultCacheSnapshot snapshot(SearchResultCache cache, Path path) {
+        return new SearchResultCacheSnapshot(cache, new SearchCacheSnapshotConfigurationProperties(true, path,
+                Duration.ofMinutes(1)));
+    }
+}
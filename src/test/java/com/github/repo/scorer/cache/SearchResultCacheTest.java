@@ -0,0 +1,100 @@
+package com.github.repo.scorer.cache;
+
+import com.github.repo.scorer.config.SearchCacheConfigurationProperties;
+import com.github.repo.scorer.model.SearchRepositoriesResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchResultCacheTest {
+
+    private static final SearchCacheKey KEY = new SearchCacheKey("language:java archived:false mirror:false", 1, 100);
+
+    @Test
+    void testReturnsStoredResponseAndRecordsHitsAndMisses() {
+        var cache = new SearchResultCache(
+                new SearchCacheConfigurationProperties(true, Duration.ofMinutes(5), 10, Duration.ZERO, false),
+                new SimpleMeterRegistry());
+        var response = new SearchRepositoriesResponse(0, Collections.emptyList());
+
+        assertTrue(cache.get(KEY).isEmpty());
+        cache.put(KEY, response);
+
+        assertSame(response, cache.get(KEY).orElseThrow());
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    void testExpiresEntriesAfterTtl() throws InterruptedException {
+        var cache = new SearchResultCache(
+                new SearchCacheConfigurationProperties(true, Duration.ofMillis(1), 10, Duration.ZERO, false),
+                new SimpleMeterRegistry());
+        cache.put(KEY, new SearchRepositoriesResponse(0, Collections.emptyList()));
+
+        Thread.sleep(20);
+
+        assertTrue(cache.get(KEY).isEmpty());
+    }
+
+    @Test
+    void testDisabledCacheNeverStoresResponses() {
+        var cache = new SearchResultCache(
+                new SearchCacheConfigurationProperties(false, Duration.ofMinutes(5), 10, Duration.ZERO, false),
+                new SimpleMeterRegistry());
+        cache.put(KEY, new SearchRepositoriesResponse(0, Collections.emptyList()));
+
+        assertTrue(cache.get(KEY).isEmpty());
+    }
+
+    @Test
+    void testNullResponsesAreNotCached() {
+        var cache = new SearchResultCache(
+                new SearchCacheConfigurationProperties(true, Duration.ofMinutes(5), 10, Duration.ZERO, false),
+                new SimpleMeterRegistry());
+        cache.put(KEY, null);
+
+        assertTrue(cache.get(KEY).isEmpty());
+    }
+
+    @Test
+    void testKeepsExpiredEntriesAsStaleWithinMaxStale() throws InterruptedException {
+        var cache = new SearchResultCache(new SearchCacheConfigurationProperties(true, Duration.ofMillis(1), 10,
+                Duration.ofHours(1), true), new SimpleMeterRegistry());
+        var response = new SearchRepositoriesResponse(0, Collections.emptyList());
+        cache.put(KEY, response);
+
+        Thread.sleep(20);
+
+        assertTrue(cache.get(KEY).isEmpty());
+        assertSame(response, cache.getStale(KEY).orElseThrow());
+        assertTrue(cache.staleWhileRevalidate());
+        assertEquals(0, cache.stats().hitCount());
+    }
+
+    @Test
+    void testNoStaleEntriesWithoutMaxStale() {
+        var cache = new SearchResultCache(new SearchCacheConfigurationProperties(true, Duration.ofMinutes(5), 10,
+                Duration.ZERO, true), new SimpleMeterRegistry());
+        cache.put(KEY, new SearchRepositoriesResponse(0, Collections.emptyList()));
+
+        assertTrue(cache.getStale(KEY).isEmpty());
+        assertFalse(cache.staleWhileRevalidate());
+    }
+
+    @Test
+    void testEntriesExpireWithinTheirRemainingTtl() {
+        var cache = new SearchResultCache(new SearchCacheConfigurationProperties(true, Duration.ofMinutes(5), 10,
+                Duration.ZERO, false), new SimpleMeterRegistry());
+
+        assertTrue(cache.expiresWithin(KEY, Duration.ofMinutes(1)));
+        cache.put(KEY, new SearchRepositoriesResponse(0, Collections.emptyList()));
+
+        assertFalse(cache.expiresWithin(KEY, Duration.ofMinutes(1)));
+        assertTrue(cache.expiresWithin(KEY, Duration.ofMinutes(5)));
+    }
+}
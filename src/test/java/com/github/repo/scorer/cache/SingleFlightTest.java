@@ -0,0 +1,110 @@
+package com.github.repo.scorer.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private DistributionSummary coalescedCallers;
+    private SingleFlight<String, String> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        coalescedCallers = DistributionSummary.builder("test.coalesced").register(new SimpleMeterRegistry());
+        singleFlight = new SingleFlight<>(coalescedCallers);
+    }
+
+    @Test
+    void testConcurrentCallersForSameKeyShareOneExecution() throws Exception {
+        var executions = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        int callers = 8;
+        List<Future<String>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("key", () -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return "value";
+                })));
+            }
+            waitUntilJoined(callers - 1);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("value", result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(1, executions.get());
+        assertEquals(1, coalescedCallers.count());
+        assertEquals(callers - 1, coalescedCallers.totalAmount());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void testJoinedCallersReceiveTheSameException() throws Exception {
+        var release = new CountDownLatch(1);
+        var failure = new IllegalStateException("upstream failed");
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                await(release);
+                throw failure;
+            }));
+            waitUntilInFlight();
+            Future<String> follower = executor.submit(() -> singleFlight.execute("key", () -> "not called"));
+            waitUntilJoined(1);
+            release.countDown();
+
+            var leaderException = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+            var followerException = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+            assertSame(failure, leaderException.getCause());
+            assertSame(failure, followerException.getCause());
+        }
+    }
+
+    @Test
+    void testSequentialCallsExecuteEachTime() {
+        var executions = new AtomicInteger();
+
+        singleFlight.execute("key", () -> String.valueOf(executions.incrementAndGet()));
+        singleFlight.execute("key", () -> String.valueOf(executions.incrementAndGet()));
+
+        assertEquals(2, executions.get());
+        assertEquals(0, coalescedCallers.totalAmount());
+    }
+
+    private void waitUntilInFlight() throws InterruptedException {
+        while (singleFlight.inFlightCount() == 0) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void waitUntilJoined(int callers) throws InterruptedException {
+        while (singleFlight.joinedCount("key") < callers) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.repo.scorer.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.repo.scorer.config.ConditionalRequestConfigurationProperties;
+import com.github.repo.scorer.model.SearchRepositoriesResponse;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.Param;
+import feign.RequestLine;
+import feign.Util;
+import feign.http2client.Http2Client;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionalRequestCacheTest {
+
+    private static final String ETAG = "\"a1b2c3\"";
+    private static final byte[] SEARCH_RESPONSE = """
+            {"total_count":1,"items":[{"id":1,"name":"repo","description":null,
+            "created_at":"2020-01-01T00:00:00Z","pushed_at":"2024-01-01T00:00:00Z","forks_count":1,
+            "stargazers_count":2,"language":"Java"}]}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final List<String> receivedIfNoneMatch = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HttpServer githubStub;
+
+    interface SearchClient {
+        @RequestLine("GET /search/repositories?q={q}&page={page}")
+        SearchRepositoriesResponse search(@Param("q") String query, @Param("page") int page);
+    }
+
+    @BeforeEach
+    void startGithubStub() throws IOException {
+        githubStub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        githubStub.createContext("/search/repositories", exchange -> {
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            receivedIfNoneMatch.add(String.valueOf(ifNoneMatch));
+            if (ETAG.equals(ifNoneMatch)) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.getResponseHeaders().add("ETag", ETAG);
+                exchange.sendResponseHeaders(200, SEARCH_RESPONSE.length);
+                exchange.getResponseBody().write(SEARCH_RESPONSE);
+            }
+            exchange.close();
+        });
+        githubStub.start();
+    }
+
+    @AfterEach
+    void stopGithubStub() {
+        githubStub.stop(0);
+    }
+
+    @Test
+    void testNotModifiedResponseReusesStoredBody() {
+        SearchClient client = client(true);
+
+        SearchRepositoriesResponse first = client.search("java", 1);
+        SearchRepositoriesResponse second = client.search("java", 1);
+
+        assertEquals(List.of("null", ETAG), receivedIfNoneMatch);
+        assertSame(first, second);
+        assertEquals(1, second.items().size());
+        assertEquals(1.0, meterRegistry.get("github.search.not.modified").counter().count());
+    }
+
+    @Test
+    void testValidatorsAreKeptPerQueryAndPage() {
+        SearchClient client = client(true);
+
+        client.search("java", 1);
+        client.search("java", 2);
+        client.search("go", 1);
+
+        assertEquals(List.of("null", "null", "null"), receivedIfNoneMatch);
+    }
+
+    @Test
+    void testDisabledCacheSendsUnconditionalRequests() {
+        SearchClient client = client(false);
+
+        client.search("java", 1);
+        client.search("java", 1);
+
+        assertEquals(List.of("null", "null"), receivedIfNoneMatch);
+        assertEquals(0.0, meterRegistry.get("github.search.not.modified").counter().count());
+    }
+
+    private SearchClient client(boolean enabled) {
+        var cache = new ConditionalRequestCache(new ConditionalRequestConfigurationProperties(enabled, 100), meterRegistry);
+        var objectMapper = new ObjectMapper();
+        return Feign.builder()
+                .client(new Http2Client())
+                .requestInterceptor(cache::addValidators)
+                .responseInterceptor(cache::reuseNotModified)
+                .decoder((response, type) -> objectMapper.readValue(
+                        Util.toByteArray(response.body().asInputStream()), objectMapper.constructType(type)))
+                .target(SearchClient.class, "http://localhost:" + githubStub.getAddress().getPort());
+    }
+}
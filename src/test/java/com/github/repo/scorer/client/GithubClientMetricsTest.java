@@ -0,0 +1,118 @@
+package com.github.repo.scorer.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.repo.scorer.config.MetricsConfigurationProperties;
+import com.github.repo.scorer.metrics.LanguageTags;
+import com.github.repo.scorer.model.SearchRepositoriesResponse;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.FeignException;
+import feign.Headers;
+import feign.Param;
+import feign.RequestLine;
+import feign.Retryer;
+import feign.Util;
+import feign.http2client.Http2Client;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GithubClientMetricsTest {
+
+    private static final byte[] SEARCH_RESPONSE = """
+            {"total_count":0,"items":[]}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HttpServer githubStub;
+    private SearchClient client;
+
+    interface SearchClient {
+        @RequestLine("GET /search/repositories?q={q}")
+        SearchRepositoriesResponse search(@Param("q") String query);
+
+        @RequestLine("GET /search/repositories?q={q}")
+        @Headers("Accept-Encoding: gzip")
+        SearchRepositoriesResponse searchCompressed(@Param("q") String query);
+    }
+
+    @BeforeEach
+    void startGithubStub() throws IOException {
+        githubStub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        githubStub.createContext("/search/repositories", exchange -> {
+            boolean spam = exchange.getRequestURI().getQuery().contains("language:spam");
+            boolean gzip = "gzip".equals(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            if (gzip) {
+                exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            }
+            exchange.sendResponseHeaders(spam ? 422 : 200, 0);
+            try (OutputStream body = gzip ? new GZIPOutputStream(exchange.getResponseBody()) : exchange.getResponseBody()) {
+                body.write(SEARCH_RESPONSE);
+            }
+            exchange.close();
+        });
+        githubStub.start();
+
+        var objectMapper = new ObjectMapper();
+        client = Feign.builder()
+                .client(new Http2Client())
+                .retryer(Retryer.NEVER_RETRY)
+                .addCapability(new GithubClientMetrics(meterRegistry,
+                        new LanguageTags(new MetricsConfigurationProperties(List.of("java")))))
+                .decoder((response, type) -> objectMapper.readValue(
+                        Util.toByteArray(response.body().asInputStream()), objectMapper.constructType(type)))
+                .target(SearchClient.class, "http://localhost:" + githubStub.getAddress().getPort());
+    }
+
+    @AfterEach
+    void stopGithubStub() {
+        githubStub.stop(0);
+    }
+
+    @Test
+    void testCallsAreTimedByStatusAndLanguage() {
+        client.search("language:Java created:>2020-01-01 archived:false");
+        client.search("language:Java created:>2021-01-01 archived:false");
+        assertThrows(FeignException.UnprocessableEntity.class, () -> client.search("language:spam archived:false"));
+
+        assertEquals(2, meterRegistry.get("github.search.requests")
+                .tags("status", "200", "language", "java").timer().count());
+        assertEquals(1, meterRegistry.get("github.search.requests")
+                .tags("status", "422", "language", LanguageTags.OTHER).timer().count());
+        assertEquals(2, meterRegistry.get("json.deserialization").tag("source", "github").timer().count());
+    }
+
+    @Test
+    void testResponsesAreCountedByProtocolAndEncoding() {
+        client.search("language:Java archived:false");
+        var response = client.searchCompressed("language:Java archived:false");
+
+        assertEquals(0, response.total_count());
+        assertEquals(1, meterRegistry.get("github.http.responses")
+                .tags("protocol", "HTTP/1.1", "encoding", "identity").counter().count());
+        assertEquals(1, meterRegistry.get("github.http.responses")
+                .tags("protocol", "HTTP/1.1", "encoding", "gzip").counter().count());
+        assertEquals(0, meterRegistry.get("github.http.requests.active").gauge().value());
+    }
+
+    @Test
+    void testUnreachableGithubIsTaggedIoError() {
+        githubStub.stop(0);
+
+        assertThrows(FeignException.class, () -> client.search("archived:false"));
+
+        assertEquals(1, meterRegistry.get("github.search.requests")
+                .tags("status", "IO_ERROR", "language", LanguageTags.NONE).timer().count());
+    }
+}
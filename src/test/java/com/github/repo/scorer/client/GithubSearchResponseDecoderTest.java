@@ -0,0 +1,78 @@
+package com.github.repo.scorer.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.repo.scorer.model.SearchRepositoriesResponse;
+import feign.Request;
+import feign.Response;
+import feign.codec.DecodeException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GithubSearchResponseDecoderTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final GithubSearchResponseDecoder decoder = new GithubSearchResponseDecoder(
+            (response, type) -> "delegated");
+
+    @Test
+    void testDecodesLikeDatabindWhileSkippingUnusedFields() throws Exception {
+        var json = """
+                {"total_count": 3, "incomplete_results": false, "items": [
+                  {"id": 1, "node_id": "R_1", "name": "repo1", "full_name": "someone/repo1",
+                   "owner": {"login": "someone", "id": 7, "site_admin": false, "nested": {"list": [1, 2, {"a": "b"}]}},
+                   "description": "first", "created_at": "2020-11-18T12:00:00Z", "pushed_at": "2025-11-18T12:00:00Z",
+                   "forks_count": 10, "stargazers_count": 20, "language": "Java",
+                   "topics": ["java", "spring"], "license": {"key": "mit", "url": null}, "score": 1.0},
+                  {"id": 2, "name": "repo2", "description": null, "created_at": "not a date", "pushed_at": null,
+                   "forks_count": null, "stargazers_count": 5, "language": "Java", "mirror_url": null},
+                  {"stargazers_count": 3, "language": null, "id": 3, "name": "repo3"}
+                ]}
+                """;
+
+        var decoded = (SearchRepositoriesResponse) decoder.decode(response(json), SearchRepositoriesResponse.class);
+
+        assertEquals(objectMapper.readValue(json, SearchRepositoriesResponse.class), decoded);
+        assertSame(decoded.items().get(0).language(), decoded.items().get(1).language());
+    }
+
+    @Test
+    void testMissingItemsDecodeToNull() throws Exception {
+        var decoded = (SearchRepositoriesResponse) decoder.decode(response("{\"total_count\": 0}"),
+                SearchRepositoriesResponse.class);
+
+        assertEquals(0, decoded.total_count());
+        assertNull(decoded.items());
+    }
+
+    @Test
+    void testMalformedResponseIsADecodeException() {
+        assertThrows(DecodeException.class,
+                () -> decoder.decode(response("{\"total_count\": 1, \"items\": [{\"id\": 1"), SearchRepositoriesResponse.class));
+        assertThrows(DecodeException.class,
+                () -> decoder.decode(response("[]"), SearchRepositoriesResponse.class));
+    }
+
+    @Test
+    void testOtherTypesAreDecodedByTheDelegate() throws Exception {
+        assertEquals("delegated", decoder.decode(response("{}"), String.class));
+    }
+
+    private static Response response(String body) {
+        Request request = Request.create(Request.HttpMethod.GET, "/search/repositories", Collections.emptyMap(),
+                null, StandardCharsets.UTF_8, null);
+        return Response.builder()
+                .status(200)
+                .request(request)
+                .headers(Collections.emptyMap())
+                .body(body, StandardCharsets.UTF_8)
+                .build();
+    }
+}
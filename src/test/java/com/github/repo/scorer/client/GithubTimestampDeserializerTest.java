@@ -0,0 +1,48 @@
+package com.github.repo.scorer.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.repo.scorer.model.SearchRepositoriesResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GithubTimestampDeserializerTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void testDecodesTimestampsIntoEpochSeconds() throws Exception {
+        var json = """
+                {"total_count": 1, "items": [{"id": 1, "name": "repo", "description": "desc",
+                  "owner": {"login": "someone"}, "created_at": "2020-11-18T12:00:00Z",
+                  "pushed_at": "2025-11-18T12:00:00Z", "forks_count": 10, "stargazers_count": 20,
+                  "language": "Java"}]}
+                """;
+
+        var repository = objectMapper.readValue(json, SearchRepositoriesResponse.class).items().get(0);
+
+        assertEquals(Instant.parse("2020-11-18T12:00:00Z").getEpochSecond(), repository.created_at());
+        assertEquals(Instant.parse("2025-11-18T12:00:00Z").getEpochSecond(), repository.pushed_at());
+        assertEquals(10, repository.forks_count());
+        assertEquals(20, repository.stargazers_count());
+    }
+
+    @Test
+    void testNullMissingAndInvalidTimestampsAreUnknown() throws Exception {
+        var json = """
+                {"total_count": 2, "items": [
+                  {"id": 1, "name": "repo1", "created_at": "not a date", "pushed_at": null},
+                  {"id": 2, "name": "repo2"}]}
+                """;
+
+        var items = objectMapper.readValue(json, SearchRepositoriesResponse.class).items();
+
+        assertEquals(GithubTimestamps.UNKNOWN, items.get(0).created_at());
+        assertEquals(GithubTimestamps.UNKNOWN, items.get(0).pushed_at());
+        assertEquals(GithubTimestamps.UNKNOWN, items.get(1).created_at());
+        assertEquals(GithubTimestamps.UNKNOWN, items.get(1).pushed_at());
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.repo.scorer.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GithubTimestampsTest {
+
+    private static final long MIN_EPOCH_SECOND = Instant.parse("0000-01-01T00:00:00Z").getEpochSecond();
+    private static final long MAX_EPOCH_SECOND = Instant.parse("9999-12-31T23:59:59Z").getEpochSecond();
+
+    @Test
+    void testParseMatchesInstantParse() {
+        var random = new SplittableRandom(2008L);
+        for (int i = 0; i < 100_000; i++) {
+            long epochSecond = random.nextLong(MIN_EPOCH_SECOND, MAX_EPOCH_SECOND + 1);
+            String text = Instant.ofEpochSecond(epochSecond).toString();
+
+            assertEquals(epochSecond, GithubTimestamps.parse(text), text);
+        }
+    }
+
+    @Test
+    void testFormatMatchesInstantToString() {
+        var random = new SplittableRandom(2025L);
+        for (int i = 0; i < 100_000; i++) {
+            long epochSecond = random.nextLong(MIN_EPOCH_SECOND, MAX_EPOCH_SECOND + 1);
+
+            assertEquals(Instant.ofEpochSecond(epochSecond).toString(), GithubTimestamps.format(epochSecond));
+        }
+    }
+
+    @Test
+    void testFormatRoundTripsGithubTimestamps() {
+        String[] timestamps = {"2008-04-01T00:00:00Z", "2020-02-29T23:59:59Z", "2023-01-27T02:25:38Z",
+                "1970-01-01T00:00:00Z", "2100-03-01T00:00:00Z"};
+        for (String timestamp : timestamps) {
+            assertEquals(timestamp, GithubTimestamps.format(GithubTimestamps.parse(timestamp)));
+        }
+    }
+
+    @Test
+    void testParseFallsBackForOtherIsoFormats() {
+        assertEquals(Instant.parse("2023-01-27T02:25:38Z").getEpochSecond(),
+                GithubTimestamps.parse("2023-01-27T02:25:38.512Z"));
+        assertEquals(Instant.parse("2023-01-27T01:25:38Z").getEpochSecond(),
+                GithubTimestamps.parse("2023-01-27T02:25:38+01:00"));
+    }
+
+    @Test
+    void testParseRejectsInvalidTimestamps() {
+        assertThrows(IllegalArgumentException.class, () -> GithubTimestamps.parse("2023-02-30T02:25:38Z"));
+        assertThrows(IllegalArgumentException.class, () -> GithubTimestamps.parse("2023-01-27T24:25:38Z"));
+        assertThrows(IllegalArgumentException.class, () -> GithubTimestamps.parse("2023-0a-27T02:25:38Z"));
+        assertThrows(IllegalArgumentException.class, () -> GithubTimestamps.parse("yesterday"));
+    }
+
+    @Test
+    void testNullIsUnknown() {
+        assertEquals(GithubTimestamps.UNKNOWN, GithubTimestamps.parse(null));
+        assertNull(GithubTimestamps.format(GithubTimestamps.UNKNOWN));
+    }
+}
@@ -0,0 +1,132 @@
+package com.github.repo.scorer.client;
+
+import com.github.repo.scorer.config.SearchRateLimitConfigurationProperties;
+import com.github.repo.scorer.exception.TooManyRequestsException;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testConfiguredLimitIsSpentBeforeShedding() {
+        var rateLimiter = rateLimiter(2, Duration.ZERO, 10);
+
+        rateLimiter.acquire();
+        rateLimiter.acquire();
+
+        assertThrows(TooManyRequestsException.class, rateLimiter::acquire);
+        assertEquals(0.0, meterRegistry.get("github.search.rate.limit.remaining").gauge().value());
+        assertEquals(1.0, meterRegistry.get("github.search.rate.limit.shed").counter().count());
+    }
+
+    @Test
+    void testRemainingHeaderOfNewWindowReplacesLocalBudget() {
+        var rateLimiter = rateLimiter(10, Duration.ZERO, 10);
+        long reset = Instant.now().plusSeconds(60).getEpochSecond();
+
+        rateLimiter.update(response(Map.of(
+                "X-RateLimit-Limit", "30",
+                "X-RateLimit-Remaining", "1",
+                "X-RateLimit-Reset", String.valueOf(reset))));
+
+        assertEquals(1, rateLimiter.remaining());
+        rateLimiter.acquire();
+        assertThrows(TooManyRequestsException.class, rateLimiter::acquire);
+    }
+
+    @Test
+    void testLowerLocalBudgetWinsWithinKnownWindow() {
+        var rateLimiter = rateLimiter(10, Duration.ZERO, 10);
+        String reset = String.valueOf(Instant.now().plusSeconds(60).getEpochSecond());
+        rateLimiter.update(response(Map.of("X-RateLimit-Remaining", "5", "X-RateLimit-Reset", reset)));
+        rateLimiter.acquire();
+        rateLimiter.acquire();
+
+        rateLimiter.update(response(Map.of("X-RateLimit-Remaining", "4", "X-RateLimit-Reset", reset)));
+
+        assertEquals(3, rateLimiter.remaining());
+    }
+
+    @Test
+    void testQueuedRequestWaitsForWindowReset() throws Exception {
+        var rateLimiter = rateLimiter(10, Duration.ofSeconds(5), 10);
+        long reset = Instant.now().plusSeconds(1).getEpochSecond();
+        rateLimiter.update(response(Map.of("X-RateLimit-Remaining", "0", "X-RateLimit-Reset", String.valueOf(reset))));
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var waiting = CompletableFuture.runAsync(rateLimiter::acquire, executor);
+            while (rateLimiter.queued() == 0 && !waiting.isDone()) {
+                Thread.onSpinWait();
+            }
+            assertEquals(1.0, meterRegistry.get("github.search.rate.limit.queued").gauge().value());
+
+            waiting.get(5, TimeUnit.SECONDS);
+        }
+        assertTrue(Instant.now().getEpochSecond() >= reset);
+        assertEquals(0, rateLimiter.queued());
+    }
+
+    @Test
+    void testRetryAfterBeyondMaxWaitIsShedImmediately() {
+        var rateLimiter = rateLimiter(10, Duration.ofMillis(100), 10);
+        rateLimiter.update(response(Map.of("Retry-After", "60")));
+
+        long start = System.nanoTime();
+        assertThrows(TooManyRequestsException.class, rateLimiter::acquire);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void testFullQueueSheds() {
+        var rateLimiter = rateLimiter(10, Duration.ofSeconds(5), 0);
+        rateLimiter.update(response(Map.of("Retry-After", "1")));
+
+        assertThrows(TooManyRequestsException.class, rateLimiter::acquire);
+    }
+
+    @Test
+    void testDisabledLimiterNeverBlocks() {
+        var properties = new SearchRateLimitConfigurationProperties(false, 1, Duration.ofMinutes(1), Duration.ZERO, 0);
+        var rateLimiter = new SearchRateLimiter(properties, meterRegistry);
+
+        rateLimiter.acquire();
+        rateLimiter.acquire();
+        rateLimiter.update(response(Map.of("Retry-After", "60")));
+        rateLimiter.acquire();
+    }
+
+    private SearchRateLimiter rateLimiter(int limit, Duration maxWait, int maxQueued) {
+        var properties = new SearchRateLimitConfigurationProperties(true, limit, Duration.ofMinutes(1), maxWait, maxQueued);
+        return new SearchRateLimiter(properties, meterRegistry);
+    }
+
+    private static Response response(Map<String, String> headers) {
+        Map<String, Collection<String>> responseHeaders = new HashMap<>();
+        headers.forEach((name, value) -> responseHeaders.put(name, List.of(value)));
+        Request request = Request.create(Request.HttpMethod.GET, "/search/repositories", Collections.emptyMap(),
+                null, StandardCharsets.UTF_8, null);
+        return Response.builder()
+                .status(200)
+                .request(request)
+                .headers(responseHeaders)
+                .build();
+    }
+}
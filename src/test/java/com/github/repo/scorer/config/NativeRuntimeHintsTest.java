@@ -0,0 +1,49 @@
+package com.github.repo.scorer.config;
+
+import com.github.repo.scorer.client.GithubFeignClient;
+import com.github.repo.scorer.client.GithubTimestampDeserializer;
+import com.github.repo.scorer.client.Repository;
+import com.github.repo.scorer.model.ScoredRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NativeRuntimeHintsTest {
+
+    private final RuntimeHints hints = registeredHints();
+
+    @Test
+    void testRegistersJsonRecordsForBinding() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ScoredRepository.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(Repository.class.getMethod("stargazers_count"))
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(GithubTimestampDeserializer.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("com.github.repo.scorer.index.RepositoryIndex$IndexedRepository"))
+                .test(hints));
+    }
+
+    @Test
+    void testRegistersConfigurationPropertiesForConstructorBinding() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(SearchCacheConfigurationProperties.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+    }
+
+    @Test
+    void testRegistersTheFeignClientProxy() throws Exception {
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(GithubFeignClient.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(GithubFeignClient.class.getMethod("searchRepositories",
+                String.class, int.class, int.class, String.class, String.class)).test(hints));
+    }
+
+    private static RuntimeHints registeredHints() {
+        var hints = new RuntimeHints();
+        new NativeRuntimeHints().registerHints(hints, NativeRuntimeHintsTest.class.getClassLoader());
+        return hints;
+    }
+}
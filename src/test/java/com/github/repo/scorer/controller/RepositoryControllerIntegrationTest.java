@@ -2,29 +2,37 @@ package com.github.repo.scorer.controller;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.repo.scorer.cache.SearchResultCache;
 import com.github.repo.scorer.client.GithubFeignClient;
 import com.github.repo.scorer.client.Repository;
+import com.github.repo.scorer.config.RepositoryScorerConfigurationProperties;
 import com.github.repo.scorer.model.SearchRepositoriesResponse;
+import com.github.repo.scorer.service.ReloadableRepositoryScorer;
 import com.github.repo.scorer.service.RepositorySearchService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Collections;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=health,scoring,prometheus")
 @AutoConfigureMockMvc
 public class RepositoryControllerIntegrationTest {
 
@@ -34,8 +42,26 @@ public class RepositoryControllerIntegrationTest {
     @MockitoBean
     private GithubFeignClient githubFeignClient;
 
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private ReloadableRepositoryScorer reloadableScorer;
+
+    @Autowired
+    private RepositoryScorerConfigurationProperties scorerProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private RepositorySearchService searchService;
 
+    @BeforeEach
+    void setup() {
+        searchResultCache.invalidateAll();
+        reloadableScorer.reload(scorerProperties);
+    }
+
     @Test
     void getRepositories_returnsDataWithScoreAndSortedByHighestScore() throws Exception {
         Repository repository_1 = new Repository(1, "repo1", "repo1 description", "2020-11-18T12:00:00Z", "2025-11-18T12:00:00Z", 100, 50000, "java");
@@ -96,4 +122,47 @@ public class RepositoryControllerIntegrationTest {
                 .andExpect(jsonPath("$.repositories").isEmpty());
     }
 
+    @Test
+    void reloadedWeightsAreUsedForNextSearchWithoutRestart() throws Exception {
+        Repository manyStars = new Repository(1, "stars", null, "2020-11-18T12:00:00Z", "2025-11-18T12:00:00Z", 0, 5000, "java");
+        Repository manyForks = new Repository(2, "forks", null, "2020-11-18T12:00:00Z", "2025-11-18T12:00:00Z", 5000, 0, "java");
+        when(githubFeignClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new SearchRepositoriesResponse(2, List.of(manyStars, manyForks)));
+        long version = reloadableScorer.current().version();
+
+        mockMvc.perform(post("/actuator/scoring")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"starsWeight\": 0.0, \"forksWeight\": 1.0, \"updatedAtWeight\": 0.0}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(version + 1))
+                .andExpect(jsonPath("$.forks_weight").value(1.0));
+
+        mockMvc.perform(get("/api/v1/repositories")
+                        .param("language", "Java")
+                        .param("created_after", "2020-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.weights_version").value(version + 1))
+                .andExpect(jsonPath("$.repositories[0].name").value("forks"));
+
+        mockMvc.perform(post("/actuator/scoring")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"starsWeight\": -1.0, \"forksWeight\": 1.0, \"updatedAtWeight\": 0.0}"))
+                .andExpect(status().isBadRequest());
+        assertEquals(version + 1, reloadableScorer.current().version());
+    }
+
+    @Test
+    void getRepositories_recordsRequestAndSerializationMetrics() throws Exception {
+        when(githubFeignClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new SearchRepositoriesResponse(0, List.of()));
+
+        mockMvc.perform(get("/api/v1/repositories")
+                        .param("language", "Java")
+                        .param("created_after", "2020-01-01"))
+                .andExpect(status().isOk());
+
+        assertTrue(meterRegistry.get("http.server.requests")
+                .tags("uri", "/api/v1/repositories", "language", "java").timer().count() >= 1);
+        assertTrue(meterRegistry.get("json.serialization").tag("source", "api").timer().count() >= 1);
+    }
 }
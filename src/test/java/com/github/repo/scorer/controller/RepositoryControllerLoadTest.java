@@ -0,0 +1,113 @@
+package com.github.repo.scorer.controller;
+
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.http2client.Http2Client;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Runs the application against a local GitHub stub that holds every search open for a while, and checks that the
+ * number of searches in flight at the same time goes past the configured Tomcat platform thread limit.
+ * */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"server.tomcat.threads.max=" + RepositoryControllerLoadTest.PLATFORM_THREAD_LIMIT,
+                "github.rate-limit.enabled=false"})
+class RepositoryControllerLoadTest {
+
+    static final int PLATFORM_THREAD_LIMIT = 10;
+    private static final int CONCURRENT_REQUESTS = 100;
+    private static final long STUB_LATENCY_MILLIS = 500;
+    private static final byte[] EMPTY_SEARCH_RESPONSE = "{\"total_count\":0,\"items\":[]}".getBytes(StandardCharsets.UTF_8);
+
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final AtomicInteger maxInFlight = new AtomicInteger();
+    private static final HttpServer githubStub = startGithubStub();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Client feignClient;
+
+    @DynamicPropertySource
+    static void githubStubProperties(DynamicPropertyRegistry registry) {
+        registry.add("github.api.url", () -> "http://localhost:" + githubStub.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopGithubStub() {
+        githubStub.stop(0);
+    }
+
+    @Test
+    void concurrentRequestsScalePastPlatformThreadLimit() throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        List<Future<Integer>> statuses = new ArrayList<>();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                // distinct languages, so neither the cache nor request coalescing can collapse the calls
+                var uri = URI.create("http://localhost:" + port
+                        + "/api/v1/repositories?language=lang" + i + "&created_after=2020-01-01");
+                statuses.add(executor.submit(() -> httpClient.send(HttpRequest.newBuilder(uri).build(),
+                        HttpResponse.BodyHandlers.discarding()).statusCode()));
+            }
+            for (Future<Integer> status : statuses) {
+                assertEquals(200, status.get());
+            }
+        }
+
+        assertInstanceOf(Http2Client.class, feignClient);
+        assertTrue(maxInFlight.get() > PLATFORM_THREAD_LIMIT,
+                "Expected more than " + PLATFORM_THREAD_LIMIT + " concurrent GitHub calls but saw " + maxInFlight.get());
+    }
+
+    private static HttpServer startGithubStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), CONCURRENT_REQUESTS);
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.createContext("/search/repositories", exchange -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(STUB_LATENCY_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, EMPTY_SEARCH_RESPONSE.length);
+                exchange.getResponseBody().write(EMPTY_SEARCH_RESPONSE);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
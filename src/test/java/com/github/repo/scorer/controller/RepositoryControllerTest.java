@@ -1,27 +1,46 @@
 package com.github.repo.scorer.controller;
 
+import com.github.repo.scorer.exception.ErrorResponse;
+import com.github.repo.scorer.exception.UnprocessableEntityException;
+import com.github.repo.scorer.model.BatchSearchResult;
+import com.github.repo.scorer.model.PageRequest;
 import com.github.repo.scorer.model.ScoredRepositoriesResponse;
+import com.github.repo.scorer.model.ScoredRepositoriesTrailer;
 import com.github.repo.scorer.model.ScoredRepository;
+import com.github.repo.scorer.model.SearchRepositoryQuery;
 import com.github.repo.scorer.model.SearchRepositoryRequest;
 import com.github.repo.scorer.service.RepositorySearchService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(RepositoryController.class)
+@Import(SimpleMeterRegistry.class)
 class RepositoryControllerTest {
 
     @Autowired
@@ -34,7 +53,7 @@ class RepositoryControllerTest {
     void getRepositories_withDefaultPagination_returnsOk() throws Exception {
         ScoredRepository repository_1 = new ScoredRepository(1, "repo1", "repo1 description", 0.4, "java", "2012-12-12", "2012-12-12", 500, 10);
         ScoredRepository repository_2 = new ScoredRepository(2, "repo2", "repo2 description", 0.3, "java", "2012-12-12", "2012-12-12", 300, 10);
-        ScoredRepositoriesResponse mockResponse = new ScoredRepositoriesResponse(2, 1, 100, List.of(repository_1, repository_2));
+        ScoredRepositoriesResponse mockResponse = new ScoredRepositoriesResponse(2, 1, 100, List.of(repository_1, repository_2), 1);
         when(repositorySearchService.searchAndScore(any(SearchRepositoryRequest.class)))
                 .thenReturn(mockResponse);
 
@@ -45,6 +64,7 @@ class RepositoryControllerTest {
                 .andExpect(jsonPath("$.total_count").value(2))
                 .andExpect(jsonPath("$.page").value(1))
                 .andExpect(jsonPath("$.page_size").value(100))
+                .andExpect(jsonPath("$.weights_version").value(1))
                 .andExpect(jsonPath("$.repositories[0].name").value("repo1"))
                 .andExpect(jsonPath("$.repositories[1].name").value("repo2"));
 
@@ -60,7 +80,7 @@ class RepositoryControllerTest {
     void getRepositories_withUserConfiguredPagination_returnsOk() throws Exception {
         ScoredRepository repository_1 = new ScoredRepository(1, "repo1", "repo1 description", 0.4, "java", "2012-12-12", "2012-12-12", 500, 10);
         ScoredRepository repository_2 = new ScoredRepository(2, "repo2", "repo2 description", 0.3, "java", "2012-12-12", "2012-12-12", 300, 10);
-        ScoredRepositoriesResponse mockResponse = new ScoredRepositoriesResponse(2, 2, 50, List.of(repository_1, repository_2));
+        ScoredRepositoriesResponse mockResponse = new ScoredRepositoriesResponse(2, 2, 50, List.of(repository_1, repository_2), 1);
         when(repositorySearchService.searchAndScore(any(SearchRepositoryRequest.class)))
                 .thenReturn(mockResponse);
 
@@ -84,6 +104,32 @@ class RepositoryControllerTest {
         assertEquals(50, capturedRequest.pageRequest().pageSize());
     }
 
+    @Test
+    void getRepositories_withFormula_passesFormulaToService() throws Exception {
+        when(repositorySearchService.searchAndScore(any(SearchRepositoryRequest.class)))
+                .thenReturn(new ScoredRepositoriesResponse(0, 1, 100, List.of(), 0));
+
+        mockMvc.perform(get("/api/v1/repositories")
+                        .param("language", "Java")
+                        .param("created_after", "2025-01-01")
+                        .param("formula", "stars / (days_since_created + 1)"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.weights_version").value(0));
+
+        ArgumentCaptor<SearchRepositoryRequest> captor = ArgumentCaptor.forClass(SearchRepositoryRequest.class);
+        verify(repositorySearchService).searchAndScore(captor.capture());
+        assertEquals("stars / (days_since_created + 1)", captor.getValue().formula());
+    }
+
+    @Test
+    void getRepositories_shouldFail_ifFormulaIsTooLong() throws Exception {
+        mockMvc.perform(get("/api/v1/repositories")
+                        .param("language", "Java")
+                        .param("created_after", "2025-01-01")
+                        .param("formula", "stars + ".repeat(30) + "forks"))
+                .andExpect(status().is(400));
+    }
+
 
     @Test
     void getRepositories_shouldFail_ifCreatedAfterIsMissing() throws Exception {
@@ -124,5 +170,125 @@ class RepositoryControllerTest {
                         .value("getRepositories.pageSize: must be less than or equal to 100"));
     }
 
+    @Test
+    void getTopRepositories_withDefaultLimit_returnsOk() throws Exception {
+        ScoredRepository repository_1 = new ScoredRepository(1, "repo1", "repo1 description", 0.4, "java", "2012-12-12", "2012-12-12", 500, 10);
+        ScoredRepositoriesResponse mockResponse = new ScoredRepositoriesResponse(1, 1, 100, List.of(repository_1), 1);
+        when(repositorySearchService.searchAndScoreTop(any(SearchRepositoryQuery.class), eq(100)))
+                .thenReturn(mockResponse);
+
+        mockMvc.perform(get("/api/v1/repositories/top")
+                        .param("language", "Java")
+                        .param("created_after", "2025-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total_count").value(1))
+                .andExpect(jsonPath("$.page_size").value(100))
+                .andExpect(jsonPath("$.repositories[0].name").value("repo1"));
+
+        verify(repositorySearchService).searchAndScoreTop(new SearchRepositoryQuery("Java", "2025-01-01"), 100);
+    }
 
-}
\ No newline at end of file
+    @Test
+    void getTopRepositories_shouldFail_LimitExceedsGithubMaxResults() throws Exception {
+        mockMvc.perform(get("/api/v1/repositories/top")
+                        .param("language", "Java")
+                        .param("created_after", "2020-01-01")
+                        .param("limit", "1001"))
+                .andExpect(status().is(400))
+                .andExpect(jsonPath("$.details[0]")
+                        .value("getTopRepositories.limit: must be less than or equal to 1000"));
+    }
+
+    @Test
+    void streamTopRepositories_writesOneLinePerRepositoryAndTotalCountTrailer() throws Exception {
+        ScoredRepository repository_1 = new ScoredRepository(1, "repo1", "repo1 description", 0.4, "java", "2012-12-12", "2012-12-12", 500, 10);
+        ScoredRepository repository_2 = new ScoredRepository(2, "repo2", "repo2 description", 0.3, "java", "2012-12-12", "2012-12-12", 300, 10);
+        when(repositorySearchService.streamScoredTop(any(SearchRepositoryQuery.class), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<List<ScoredRepository>> consumer = invocation.getArgument(2);
+                    consumer.accept(List.of(repository_1));
+                    consumer.accept(List.of(repository_2));
+                    return new ScoredRepositoriesTrailer(42, 3);
+                });
+
+        var mvcResult = mockMvc.perform(get("/api/v1/repositories/top")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .param("language", "Java")
+                        .param("created_after", "2025-01-01")
+                        .param("limit", "200"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        var lines = body.lines().toList();
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).contains("\"name\":\"repo1\""));
+        assertTrue(lines.get(1).contains("\"name\":\"repo2\""));
+        assertEquals("{\"total_count\":42,\"weights_version\":3,\"stale\":false}", lines.get(2));
+        verify(repositorySearchService).streamScoredTop(eq(new SearchRepositoryQuery("Java", "2025-01-01")), eq(200), any());
+    }
+
+    @Test
+    void streamTopRepositories_shouldFail_ifGithubSearchFailsBeforeAnythingIsWritten() throws Exception {
+        when(repositorySearchService.streamScoredTop(any(SearchRepositoryQuery.class), anyInt(), any()))
+                .thenThrow(new UnprocessableEntityException("Search criteria cannot be applied or API has been spammed."));
+
+        var mvcResult = mockMvc.perform(get("/api/v1/repositories/top")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .param("language", "Java")
+                        .param("created_after", "2025-01-01"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().is(422))
+                .andExpect(jsonPath("$.message")
+                        .value("Search criteria cannot be applied or API has been spammed."));
+    }
+
+    @Test
+    void getRepositoriesBatch_returnsResultsAndValidationErrorsPerSearch() throws Exception {
+        var response = new ScoredRepositoriesResponse(0, 1, 100, List.of(), 1);
+        when(repositorySearchService.searchAndScoreAll(any()))
+                .thenReturn(List.of(BatchSearchResult.succeeded(response),
+                        BatchSearchResult.failed(new ErrorResponse(429, "GitHub search rate limit reached", null))));
+
+        mockMvc.perform(post("/api/v1/repositories/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"searches": [
+                                  {"language": "Java", "created_after": "2025-01-01"},
+                                  {"language": "Go", "created_after": "2025-01-01", "page_size": 500},
+                                  {"language": "Rust", "created_after": "2025-01-01", "page": 2, "page_size": 50}
+                                ]}"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(3))
+                .andExpect(jsonPath("$.results[0].result.weights_version").value(1))
+                .andExpect(jsonPath("$.results[0].error").doesNotExist())
+                .andExpect(jsonPath("$.results[1].error.status").value(400))
+                .andExpect(jsonPath("$.results[1].error.details[0]").value("searches[1].page_size: must be less than or equal to 100"))
+                .andExpect(jsonPath("$.results[2].error.status").value(429));
+
+        ArgumentCaptor<List<SearchRepositoryRequest>> captor = ArgumentCaptor.captor();
+        verify(repositorySearchService).searchAndScoreAll(captor.capture());
+        assertEquals(List.of(
+                new SearchRepositoryRequest(new SearchRepositoryQuery("Java", "2025-01-01"), new PageRequest(100, 1)),
+                new SearchRepositoryRequest(new SearchRepositoryQuery("Rust", "2025-01-01"), new PageRequest(50, 2))),
+                captor.getValue());
+    }
+
+    @Test
+    void getRepositoriesBatch_shouldFail_ifBatchIsEmpty() throws Exception {
+        mockMvc.perform(post("/api/v1/repositories/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"searches\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Validation failed"));
+
+        verify(repositorySearchService, never()).searchAndScoreAll(any());
+    }
+}
@@ -0,0 +1,94 @@
+package com.github.repo.scorer.formula;
+
+import com.github.repo.scorer.config.RepositoryScorerConfigurationProperties;
+import com.github.repo.scorer.exception.BadRequestException;
+import com.github.repo.scorer.service.WeightedRepositoryScorer;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormulaScorerTest {
+
+    @Test
+    void testWeightedFormulaMatchesHandWrittenScorer() {
+        var weighted = new WeightedRepositoryScorer(new RepositoryScorerConfigurationProperties(0.5, 0.3, 0.2));
+        var formula = FormulaScorer.compile(
+                "log(stars + 1) * 0.5 + log(forks + 1) * 0.3 + 0.2 / (1 + days_since_updated)");
+        var random = new SplittableRandom(7);
+
+        for (int i = 0; i < 10_000; i++) {
+            int stars = random.nextInt(0, 500_000);
+            int forks = random.nextInt(0, 100_000);
+            long days = random.nextLong(0, 6_000);
+            assertEquals(weighted.calculateScore(stars, forks, days),
+                    formula.calculateScore(stars, forks, days, days + 1));
+        }
+    }
+
+    @Test
+    void testOperatorPrecedenceAndAssociativity() {
+        assertEquals(7.0, score("1 + 2 * 3"));
+        assertEquals(9.0, score("(1 + 2) * 3"));
+        assertEquals(2.0, score("8 / 2 / 2"));
+        assertEquals(4.0, score("10 - 4 - 2"));
+        assertEquals(512.0, score("2 ^ 3 ^ 2"));
+        assertEquals(-4.0, score("-2 ^ 2"));
+        assertEquals(0.25, score("2 ^ -2"));
+    }
+
+    @Test
+    void testVariablesAndFunctions() {
+        var scorer = FormulaScorer.compile("stars / max(days_since_created, 1) + sqrt(forks) - abs(-days_since_updated)");
+
+        assertEquals(50.0 + 3.0 - 2.0, scorer.calculateScore(500, 9, 2, 10));
+        assertEquals(500.0 + 3.0 - 2.0, scorer.calculateScore(500, 9, 2, 0));
+        assertEquals(2.0, FormulaScorer.compile("log10(STARS) + min(forks, pow(2, 0))").calculateScore(10, 5, 0, 0));
+    }
+
+    @Test
+    void testUndefinedResultsScoreZero() {
+        var scorer = FormulaScorer.compile("stars / days_since_created + log(forks - 10)");
+
+        assertEquals(0.0, scorer.calculateScore(5, 20, 0, 0));
+        assertEquals(0.0, scorer.calculateScore(5, 2, 0, 1));
+    }
+
+    @Test
+    void testResultIsRoundedToTwoDecimals() {
+        assertEquals(0.33, score("1 / 3"));
+        assertEquals(1.01, score("1.005"));
+    }
+
+    @Test
+    void testInvalidFormulasAreRejectedWithPosition() {
+        assertMessage("Unknown variable 'watchers' at position 9", "stars + watchers");
+        assertMessage("Unknown function 'exp' at position 1", "exp(stars)");
+        assertMessage("Function 'max' takes 2 argument(s) at position 1", "max(stars)");
+        assertMessage("Expected ')' at position 10", "log(stars");
+        assertMessage("Unexpected ')' at position 6", "stars)");
+        assertMessage("Unexpected end of formula at position 8", "stars *");
+        assertMessage("Invalid number '1.2.3' at position 1", "1.2.3");
+        assertMessage("Unexpected '$' at position 1", "$stars");
+        assertThrows(IllegalArgumentException.class, () -> FormulaScorer.compile(" "));
+    }
+
+    @Test
+    void testScoringFormulasCachesCompiledFormulas() {
+        var formulas = new ScoringFormulas();
+
+        assertSame(formulas.scorer("stars + forks"), formulas.scorer(" stars + forks "));
+        var exception = assertThrows(BadRequestException.class, () -> formulas.scorer("stars +"));
+        assertTrue(exception.getMessage().startsWith("Unexpected end of formula"));
+    }
+
+    private static double score(String formula) {
+        return FormulaScorer.compile(formula).calculateScore(0, 0, 0, 0);
+    }
+
+    private static void assertMessage(String expectedPrefix, String formula) {
+        var exception = assertThrows(IllegalArgumentException.class, () -> FormulaScorer.compile(formula));
+        assertTrue(exception.getMessage().startsWith(expectedPrefix), exception.getMessage());
+    }
+}
@@ -0,0 +1,140 @@
+package com.github.repo.scorer.index;
+
+import com.github.repo.scorer.client.GithubFeignClient;
+import com.github.repo.scorer.client.Repository;
+import com.github.repo.scorer.client.SearchRateLimiter;
+import com.github.repo.scorer.config.RepositoryIndexConfigurationProperties;
+import com.github.repo.scorer.config.SearchRateLimitConfigurationProperties;
+import com.github.repo.scorer.model.SearchRepositoriesResponse;
+import feign.FeignException;
+import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RepositoryIndexSynchronizerTest {
+
+    private static final long NOW = Instant.parse("2025-01-03T00:00:00Z").getEpochSecond();
+
+    @TempDir
+    private Path directory;
+
+    private GithubFeignClient githubClient;
+    private RepositoryIndex repositoryIndex;
+    private RepositoryIndexSynchronizer synchronizer;
+
+    @BeforeEach
+    void setup() {
+        githubClient = mock(GithubFeignClient.class);
+        synchronizer = synchronizer(rateLimiter(10), 0);
+    }
+
+    private RepositoryIndexSynchronizer synchronizer(SearchRateLimiter rateLimiter, int reservedBudget) {
+        var properties = new RepositoryIndexConfigurationProperties(true, true, directory.resolve("index.json"),
+                List.of("java"), Duration.ofDays(2), Duration.ofDays(1), Duration.ofMinutes(15), Duration.ofHours(1),
+                reservedBudget);
+        repositoryIndex = new RepositoryIndex(properties, new SimpleMeterRegistry());
+        return new RepositoryIndexSynchronizer(githubClient, rateLimiter, repositoryIndex, properties);
+    }
+
+    private static SearchRateLimiter rateLimiter(int limit) {
+        return new SearchRateLimiter(new SearchRateLimitConfigurationProperties(true, limit, Duration.ofMinutes(1),
+                Duration.ZERO, 0), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testInitialSyncWalksDailyPushedWindowsUpToNow() {
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new SearchRepositoriesResponse(1, List.of(repository(1))));
+
+        synchronizer.syncLanguage("java", NOW);
+
+        verify(githubClient).searchRepositories(
+                eq("language:java pushed:2025-01-01T00:00:00Z..2025-01-02T00:00:00Z archived:false mirror:false"),
+                eq(100), eq(1), anyString(), anyString());
+        verify(githubClient).searchRepositories(
+                eq("language:java pushed:2025-01-02T00:00:00Z..2025-01-03T00:00:00Z archived:false mirror:false"),
+                eq(100), eq(1), anyString(), anyString());
+        assertEquals(Instant.parse("2025-01-01T00:00:00Z").getEpochSecond(), repositoryIndex.syncedFrom("java").orElseThrow());
+        assertEquals(NOW, repositoryIndex.syncedUntil("java").orElseThrow());
+        assertEquals(1, repositoryIndex.size());
+    }
+
+    @Test
+    void testWindowAboveSearchCapIsBisected() {
+        String fullDay = "pushed:2025-01-01T00:00:00Z..2025-01-02T00:00:00Z";
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new SearchRepositoriesResponse(0, List.of()));
+        when(githubClient.searchRepositories(contains(fullDay), anyInt(), eq(1), anyString(), anyString()))
+                .thenReturn(new SearchRepositoriesResponse(1500, List.of(repository(1))));
+        when(githubClient.searchRepositories(contains("pushed:2025-01-01T00:00:00Z..2025-01-01T12:00:00Z"), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new SearchRepositoriesResponse(150, page(1, 100)), new SearchRepositoriesResponse(150, page(101, 50)));
+        when(githubClient.searchRepositories(contains("pushed:2025-01-01T12:00:00Z..2025-01-02T00:00:00Z"), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new SearchRepositoriesResponse(100, page(151, 100)));
+
+        synchronizer.syncLanguage("java", Instant.parse("2025-01-02T00:00:00Z").getEpochSecond());
+
+        verify(githubClient, never()).searchRepositories(contains(fullDay), anyInt(), eq(2), anyString(), anyString());
+        assertEquals(250, repositoryIndex.size());
+    }
+
+    @Test
+    void testFailedWindowKeepsWatermarkAndResumesThere() {
+        Request request = Request.create(Request.HttpMethod.GET, "/search/repositories", Collections.emptyMap(),
+                null, StandardCharsets.UTF_8, null);
+        when(githubClient.searchRepositories(contains("pushed:2025-01-01"), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new SearchRepositoriesResponse(1, List.of(repository(1))));
+        when(githubClient.searchRepositories(contains("pushed:2025-01-02"), anyInt(), anyInt(), anyString(), anyString()))
+                .thenThrow(new FeignException.ServiceUnavailable("503", request, null, Collections.emptyMap()))
+                .thenReturn(new SearchRepositoriesResponse(1, List.of(repository(2))));
+
+        synchronizer.syncLanguage("java", NOW);
+        assertEquals(Instant.parse("2025-01-02T00:00:00Z").getEpochSecond(), repositoryIndex.syncedUntil("java").orElseThrow());
+
+        synchronizer.syncLanguage("java", NOW);
+        assertEquals(NOW, repositoryIndex.syncedUntil("java").orElseThrow());
+        assertEquals(2, repositoryIndex.size());
+        verify(githubClient, times(1)).searchRepositories(contains("pushed:2025-01-01"), anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    void testSyncStopsAtReservedBudgetAndResumesThere() {
+        var rateLimiter = rateLimiter(2);
+        synchronizer = synchronizer(rateLimiter, 1);
+        /* the rate limiter takes a token for every search, as the GitHub client interceptor does */
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenAnswer(invocation -> {
+                    rateLimiter.acquire();
+                    return new SearchRepositoriesResponse(1, List.of(repository(1)));
+                });
+
+        synchronizer.syncLanguage("java", NOW);
+
+        assertEquals(Instant.parse("2025-01-02T00:00:00Z").getEpochSecond(), repositoryIndex.syncedUntil("java").orElseThrow());
+        verify(githubClient, times(1)).searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    private static List<Repository> page(int firstId, int size) {
+        return IntStream.range(firstId, firstId + size).mapToObj(RepositoryIndexSynchronizerTest::repository).toList();
+    }
+
+    private static Repository repository(int id) {
+        return new Repository(id, "repo" + id, null, "2020-01-01T00:00:00Z", "2025-01-01T06:00:00Z", 1, 1, "Java");
+    }
+}
@@ -0,0 +1,129 @@
+package com.github.repo.scorer.index;
+
+import com.github.repo.scorer.client.Repository;
+import com.github.repo.scorer.config.RepositoryIndexConfigurationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RepositoryIndexTest {
+
+    private static final Repository OLD = new Repository(1, "old", "d", "2019-01-01T00:00:00Z", "2025-01-01T00:00:00Z", 3, 4, "Java");
+    private static final Repository NEW = new Repository(2, "new", null, "2022-01-01T00:00:00Z", null, 5, 6, "Java");
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testFindFiltersByLanguageAndCreatedAt() {
+        var index = index(true);
+        index.upsert("Java", List.of(OLD, NEW));
+
+        assertEquals(List.of(NEW), index.find("JAVA", Instant.parse("2020-01-01T00:00:00Z").getEpochSecond()));
+        assertEquals(2, index.find("java", Long.MIN_VALUE).size());
+        assertTrue(index.find("go", Long.MIN_VALUE).isEmpty());
+    }
+
+    @Test
+    void testUpsertReplacesRepositoryById() {
+        var index = index(true);
+        index.upsert("java", List.of(OLD));
+        var renamed = new Repository(1, "renamed", "d", "2019-01-01T00:00:00Z", "2025-02-01T00:00:00Z", 3, 9, "Java");
+
+        index.upsert("java", List.of(renamed));
+
+        assertEquals(List.of(renamed), index.find("java", Long.MIN_VALUE));
+    }
+
+    @Test
+    void testLanguageIsServedOnlyAfterFirstSync() {
+        var index = index(true);
+        index.upsert("java", List.of(OLD));
+        assertFalse(index.canServe("java", Long.MAX_VALUE));
+
+        index.markSynced("java", Instant.now().getEpochSecond() - 3600, Instant.now().getEpochSecond());
+
+        assertTrue(index.canServe("Java", Instant.now().getEpochSecond()));
+        assertFalse(index.canServe("go", Instant.now().getEpochSecond()));
+    }
+
+    @Test
+    void testQueriesForRepositoriesCreatedBeforeTheSyncedRangeAreNotServed() {
+        var index = index(true);
+        long syncedFrom = Instant.now().getEpochSecond() - 2 * 86_400;
+        index.markSynced("java", syncedFrom, syncedFrom + 86_400);
+        index.markSynced("java", syncedFrom + 86_400, Instant.now().getEpochSecond());
+
+        assertTrue(index.canServe("java", syncedFrom));
+        assertFalse(index.canServe("java", syncedFrom - 1));
+        assertFalse(index.canServe("java", Long.MIN_VALUE));
+    }
+
+    @Test
+    void testLanguageIsNotServedOnceItsSyncLagsBeyondMaxLag() {
+        var index = index(true);
+        long now = Instant.now().getEpochSecond();
+        index.markSynced("java", now - 86_400, now - 1800);
+        assertTrue(index.canServe("java", now - 86_400));
+
+        index.markSynced("go", now - 86_400, now - 7200);
+        assertFalse(index.canServe("go", now - 86_400));
+    }
+
+    @Test
+    void testPersistAndLoadRoundTrip() {
+        var index = index(true);
+        index.upsert("java", List.of(OLD, NEW));
+        index.markSynced("java", 1_600_000_000L, 1_700_000_000L);
+        index.persist();
+
+        var reloaded = index(true);
+        reloaded.load();
+
+        assertEquals(1_600_000_000L, reloaded.syncedFrom("java").orElseThrow());
+        assertEquals(1_700_000_000L, reloaded.syncedUntil("java").orElseThrow());
+        assertEquals(List.of(OLD, NEW), reloaded.find("java", Long.MIN_VALUE).stream()
+                .sorted((a, b) -> Integer.compare(a.id(), b.id()))
+                .toList());
+    }
+
+    @Test
+    void testFreshnessLagIsReportedPerLanguage() {
+        var meterRegistry = new SimpleMeterRegistry();
+        var index = new RepositoryIndex(properties(true), meterRegistry);
+        index.markSynced("java", Instant.now().getEpochSecond() - 7200, Instant.now().getEpochSecond() - 3600);
+
+        double javaLag = meterRegistry.get("github.index.freshness.lag").tag("language", "java").gauge().value();
+        double goLag = meterRegistry.get("github.index.freshness.lag").tag("language", "go").gauge().value();
+
+        assertTrue(javaLag >= 3600 && javaLag < 3700, String.valueOf(javaLag));
+        assertTrue(Double.isNaN(goLag));
+    }
+
+    @Test
+    void testDisabledIndexNeitherServesNorPersists() {
+        var index = index(false);
+        index.markSynced("java", Instant.now().getEpochSecond() - 3600, Instant.now().getEpochSecond());
+        index.persist();
+
+        assertFalse(index.canServe("java", Long.MAX_VALUE));
+        assertFalse(directory.resolve("index.json").toFile().exists());
+    }
+
+    private RepositoryIndex index(boolean enabled) {
+        return new RepositoryIndex(properties(enabled), new SimpleMeterRegistry());
+    }
+
+    private RepositoryIndexConfigurationProperties properties(boolean enabled) {
+        return new RepositoryIndexConfigurationProperties(enabled, true, directory.resolve("index.json"),
+                List.of("java", "go"), Duration.ofDays(7), Duration.ofDays(1), Duration.ofMinutes(15), Duration.ofHours(1),
+                5);
+    }
+}
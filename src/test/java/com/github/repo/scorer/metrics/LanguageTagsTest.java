@@ -0,0 +1,51 @@
+package com.github.repo.scorer.metrics;
+
+import com.github.repo.scorer.config.MetricsConfigurationProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LanguageTagsTest {
+
+    private final LanguageTags languageTags =
+            new LanguageTags(new MetricsConfigurationProperties(List.of("Java", " go ")));
+
+    @Test
+    void testLanguagesAreNormalized() {
+        assertEquals("java", languageTags.tag(" Java "));
+        assertEquals("java", languageTags.tag("JAVA"));
+        assertEquals("go", languageTags.tag("Go"));
+    }
+
+    @Test
+    void testLanguagesOutsideTheAllowListAreTaggedOther() {
+        assertEquals(LanguageTags.OTHER, languageTags.tag("rust"));
+        assertEquals(LanguageTags.OTHER, languageTags.tag("x".repeat(50)));
+        assertEquals("java", languageTags.tag("java"));
+    }
+
+    @Test
+    void testFirstLanguagesSeenDoNotTakeTheTags() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(LanguageTags.OTHER, languageTags.tag("spam" + i));
+        }
+        assertEquals("java", languageTags.tag("java"));
+        assertEquals("go", languageTags.tag("go"));
+    }
+
+    @Test
+    void testMissingLanguageIsTaggedNone() {
+        assertEquals(LanguageTags.NONE, languageTags.tag(null));
+        assertEquals(LanguageTags.NONE, languageTags.tag(" "));
+    }
+
+    @Test
+    void testWithoutAllowListEveryLanguageIsTaggedOther() {
+        var untagged = new LanguageTags(new MetricsConfigurationProperties(null));
+
+        assertEquals(LanguageTags.OTHER, untagged.tag("java"));
+        assertEquals(LanguageTags.NONE, untagged.tag(null));
+    }
+}
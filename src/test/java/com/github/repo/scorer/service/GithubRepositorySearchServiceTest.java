@@ -1,15 +1,34 @@
 package com.github.repo.scorer.service;
 
+import com.github.repo.scorer.cache.CachedSearch;
+import com.github.repo.scorer.cache.PopularSearches;
+import com.github.repo.scorer.cache.SearchCacheKey;
+import com.github.repo.scorer.cache.SearchCachePeers;
+import com.github.repo.scorer.cache.SearchResultCache;
 import com.github.repo.scorer.client.GithubFeignClient;
 import com.github.repo.scorer.client.Repository;
+import com.github.repo.scorer.config.RepositoryIndexConfigurationProperties;
+import com.github.repo.scorer.config.SearchCacheConfigurationProperties;
+import com.github.repo.scorer.config.MetricsConfigurationProperties;
+import com.github.repo.scorer.config.SearchCrawlConfigurationProperties;
+import com.github.repo.scorer.config.SearchFanOutConfigurationProperties;
+import com.github.repo.scorer.config.SearchPrefetchConfigurationProperties;
+import com.github.repo.scorer.exception.BadRequestException;
 import com.github.repo.scorer.exception.InternalServerErrorException;
+import com.github.repo.scorer.exception.TooManyRequestsException;
 import com.github.repo.scorer.exception.UnprocessableEntityException;
+import com.github.repo.scorer.formula.ScoringFormulas;
+import com.github.repo.scorer.index.RepositoryIndex;
+import com.github.repo.scorer.metrics.LanguageTags;
+import com.github.repo.scorer.metrics.ScoringMetrics;
 import com.github.repo.scorer.model.PageRequest;
+import com.github.repo.scorer.model.ScoredRepository;
 import com.github.repo.scorer.model.SearchRepositoriesResponse;
 import com.github.repo.scorer.model.SearchRepositoryQuery;
 import com.github.repo.scorer.model.SearchRepositoryRequest;
 import feign.FeignException;
 import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,12 +36,30 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static com.github.repo.scorer.service.GithubRepositorySearchService.DESC;
+import static com.github.repo.scorer.service.GithubRepositorySearchService.STARS;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,13 +67,40 @@ class GithubRepositorySearchServiceTest {
 
     private GithubFeignClient githubClient;
     private RepositoryScorer repositoryScorer;
+    private SearchResultCache searchResultCache;
+    private SearchCachePeers searchPeers;
+    private RepositoryIndex repositoryIndex;
+    private SimpleMeterRegistry meterRegistry;
     private RepositorySearchService service;
 
     @BeforeEach
     void setup() {
         githubClient = mock(GithubFeignClient.class);
-        repositoryScorer = mock(RepositoryScorer.class);
-        service = new GithubRepositorySearchService(githubClient, repositoryScorer);
+        searchPeers = mock(SearchCachePeers.class);
+        meterRegistry = new SimpleMeterRegistry();
+        /* real default methods, so bulk scoring reaches the stubbed method */
+        repositoryScorer = mock(RepositoryScorer.class, withSettings().defaultAnswer(CALLS_REAL_METHODS));
+        searchResultCache = new SearchResultCache(
+                new SearchCacheConfigurationProperties(true, Duration.ofMinutes(5), 100, Duration.ZERO, false),
+                new SimpleMeterRegistry());
+        repositoryIndex = new RepositoryIndex(new RepositoryIndexConfigurationProperties(true, true,
+                Path.of("unused-index.json"), List.of("java"), Duration.ofDays(7), Duration.ofDays(1),
+                Duration.ofMinutes(15), Duration.ofHours(1), 5), new SimpleMeterRegistry());
+        service = service(searchResultCache);
+    }
+
+    private RepositorySearchService service(SearchResultCache cache) {
+        return service(cache, 100);
+    }
+
+    private RepositorySearchService service(SearchResultCache cache, int maxCrawlCalls) {
+        return new GithubRepositorySearchService(githubClient,
+                new ReloadableRepositoryScorer(repositoryScorer, null), new ScoringFormulas(), cache,
+                new PopularSearches(new SearchPrefetchConfigurationProperties(false, 0, Duration.ZERO, 0, null)),
+                searchPeers, repositoryIndex, new ScoringMetrics(meterRegistry,
+                new LanguageTags(new MetricsConfigurationProperties(List.of("java", "kotlin")))),
+                new SearchFanOutConfigurationProperties(4), new SearchCrawlConfigurationProperties(maxCrawlCalls),
+                meterRegistry);
     }
 
     @Test
@@ -128,6 +192,282 @@ class GithubRepositorySearchServiceTest {
         assertEquals(10, pageSizeCaptor.getValue());
     }
 
+    @Test
+    void getScoredRepositories_usesCreatedAtWhenPushedAtIsMissing() {
+        var createdAt = Instant.now().minus(10, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+        var repo = new Repository(1, "repo", "desc", createdAt.toString(), null, 5, 2000, "Java");
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new SearchRepositoriesResponse(1, List.of(repo)));
+        var request = new SearchRepositoryRequest(
+                new SearchRepositoryQuery("Java", "2020-01-01"),
+                new PageRequest(1, 10)
+        );
+
+        var response = service.searchAndScore(request);
+
+        verify(repositoryScorer).calculateScore(2000, 5, 10, 10);
+        assertEquals(createdAt.toString(), response.repositories().get(0).created_at());
+        assertNull(response.repositories().get(0).updated_at());
+    }
+
+    @Test
+    void getScoredRepositories_servesRepeatedQueryFromCache() {
+        var repo = new Repository(1, "repo", "desc", "2023-01-27T02:25:38Z", "2023-01-27T02:25:38Z", 5,
+                2000, "Java");
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new SearchRepositoriesResponse(1, List.of(repo)));
+        var request = new SearchRepositoryRequest(
+                new SearchRepositoryQuery("Java", "2020-01-01"),
+                new PageRequest(1, 10)
+        );
+
+        service.searchAndScore(request);
+        var response = service.searchAndScore(request);
+
+        verify(githubClient, times(1)).searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString());
+        assertEquals(1, response.total_count());
+        assertEquals("repo", response.repositories().get(0).name());
+        assertEquals(1, searchResultCache.stats().hitCount());
+    }
+
+    @Test
+    void getScoredRepositories_doesNotShareCacheEntriesAcrossPages() {
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new SearchRepositoriesResponse(0, Collections.emptyList()));
+        var query = new SearchRepositoryQuery("Java", "2020-01-01");
+
+        service.searchAndScore(new SearchRepositoryRequest(query, new PageRequest(10, 1)));
+        service.searchAndScore(new SearchRepositoryRequest(query, new PageRequest(10, 2)));
+
+        verify(githubClient, times(2)).searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    void getTopScoredRepositories_fetchesEveryPageNeededForLimit() {
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenAnswer(invocation -> pageOfRepositories(invocation.getArgument(2), invocation.getArgument(1)));
+
+        var response = service.searchAndScoreTop(new SearchRepositoryQuery("Java", "2020-01-01"), 250);
+
+        for (int page = 1; page <= 3; page++) {
+            verify(githubClient).searchRepositories(anyString(), eq(100), eq(page), eq(STARS), eq(DESC));
+        }
+        verifyNoMoreInteractions(githubClient);
+        assertEquals(5000, response.total_count());
+        assertEquals(1, response.page());
+        assertEquals(250, response.page_size());
+        assertEquals(250, response.repositories().size());
+    }
+
+    @Test
+    void getTopScoredRepositories_capsLimitAtGithubMaximumResults() {
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenAnswer(invocation -> pageOfRepositories(invocation.getArgument(2), invocation.getArgument(1)));
+
+        var response = service.searchAndScoreTop(new SearchRepositoryQuery("Java", "2020-01-01"), 5000);
+
+        verify(githubClient, times(10)).searchRepositories(anyString(), eq(100), anyInt(), anyString(), anyString());
+        assertEquals(1000, response.repositories().size());
+    }
+
+    @Test
+    void getTopScoredRepositories_sortsMergedPagesByScoreKeepingFetchOrderForTies() {
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenAnswer(invocation -> pageOfRepositories(invocation.getArgument(2), invocation.getArgument(1)));
+        when(repositoryScorer.calculateScore(anyInt(), anyInt(), anyLong(), anyLong()))
+                .thenAnswer(invocation -> invocation.<Integer>getArgument(1) % 2 == 0 ? 1.0 : 2.0);
+
+        var response = service.searchAndScoreTop(new SearchRepositoryQuery("Java", "2020-01-01"), 200);
+
+        var ids = response.repositories().stream().map(ScoredRepository::id).toList();
+        var expected = IntStream.concat(
+                IntStream.rangeClosed(1, 200).filter(id -> id % 2 == 1),
+                IntStream.rangeClosed(1, 200).filter(id -> id % 2 == 0)).boxed().toList();
+        assertEquals(expected, ids);
+    }
+
+    @Test
+    void getTopScoredRepositories_dropsRepositoriesRepeatedAcrossPages() {
+        var repo = new Repository(1, "repo", "desc", "2023-01-27T02:25:38Z", "2023-01-27T02:25:38Z", 5,
+                2000, "Java");
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new SearchRepositoriesResponse(2, List.of(repo)));
+
+        var response = service.searchAndScoreTop(new SearchRepositoryQuery("Java", "2020-01-01"), 200);
+
+        assertEquals(1, response.repositories().size());
+    }
+
+    @Test
+    void getTopScoredRepositories_mapsFailedPageException() {
+        Request feignRequest = Request.create(Request.HttpMethod.GET, "/repositories", Collections.emptyMap(),
+                null, StandardCharsets.UTF_8, null);
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenAnswer(invocation -> pageOfRepositories(invocation.getArgument(2), invocation.getArgument(1)));
+        when(githubClient.searchRepositories(anyString(), anyInt(), eq(2), anyString(), anyString()))
+                .thenThrow(new FeignException.UnprocessableEntity("422 Unprocessable Entity", feignRequest, null,
+                        Collections.emptyMap()));
+
+        assertThrows(UnprocessableEntityException.class,
+                () -> service.searchAndScoreTop(new SearchRepositoryQuery("Java", "2020-01-01"), 300));
+    }
+
+    @Test
+    void getTopScoredRepositories_ranksTheSameRepositoriesAsTheStream() {
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenAnswer(invocation -> pageOfRepositories(invocation.getArgument(2), invocation.getArgument(1)));
+        /* the repositories past the limit in GitHub's ranking score highest */
+        when(repositoryScorer.calculateScore(anyInt(), anyInt(), anyLong(), anyLong()))
+                .thenAnswer(invocation -> (double) invocation.<Integer>getArgument(1));
+        var query = new SearchRepositoryQuery("Java", "2020-01-01");
+        List<List<ScoredRepository>> emitted = new ArrayList<>();
+
+        var top = service.searchAndScoreTop(query, 150);
+        service.streamScoredTop(query, 150, emitted::add);
+
+        var topIds = top.repositories().stream().map(ScoredRepository::id).sorted().toList();
+        var streamedIds = emitted.stream().flatMap(List::stream).map(ScoredRepository::id).sorted().toList();
+        assertEquals(IntStream.rangeClosed(1, 150).boxed().toList(), topIds);
+        assertEquals(topIds, streamedIds);
+    }
+
+    @Test
+    void streamScoredTop_emitsEachPageScoredAndStopsAtLimit() {
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenAnswer(invocation -> pageOfRepositories(invocation.getArgument(2), invocation.getArgument(1)));
+        when(repositoryScorer.calculateScore(anyInt(), anyInt(), anyLong(), anyLong()))
+                .thenAnswer(invocation -> (double) invocation.<Integer>getArgument(1));
+        List<List<ScoredRepository>> emitted = new ArrayList<>();
+
+        int totalCount = service.streamScoredTop(new SearchRepositoryQuery("Java", "2020-01-01"), 250, emitted::add)
+                .total_count();
+
+        assertEquals(5000, totalCount);
+        assertEquals(3, emitted.size());
+        assertEquals(250, emitted.stream().mapToInt(List::size).sum());
+        for (List<ScoredRepository> page : emitted) {
+            for (int i = 1; i < page.size(); i++) {
+                assertTrue(page.get(i - 1).score() >= page.get(i).score());
+            }
+        }
+        var ids = emitted.stream().flatMap(List::stream).map(ScoredRepository::id).sorted().toList();
+        assertEquals(IntStream.rangeClosed(1, 250).boxed().toList(), ids);
+    }
+
+    /*
+     * Repository ids follow GitHub's stars desc ranking across pages: page 1 holds ids 1..100, page 2 ids 101..200.
+     * */
+    @Test
+    void testCrawlBisectsCreatedWindowsToRankBeyondTheSearchCap() {
+        var population = crawlPopulation(2500);
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenAnswer(invocation -> searchCreatedWindow(population, invocation.getArgument(0),
+                        invocation.getArgument(2), invocation.getArgument(1)));
+        when(repositoryScorer.calculateScore(anyInt(), anyInt(), anyLong(), anyLong()))
+                .thenAnswer(invocation -> (double) invocation.getArgument(0, Integer.class));
+
+        var response = service.crawlAndScoreTop(new SearchRepositoryQuery("Java", "2020-01-01"), 10);
+
+        assertTrue(response.complete());
+        assertEquals(2500, response.total_count());
+        assertEquals(2500, response.scored_count());
+        assertEquals(List.of(2499, 2498, 2497), response.repositories().stream().limit(3).map(ScoredRepository::stars).toList());
+        assertTrue(response.windows() >= 3);
+        assertEquals(mockingDetails(githubClient).getInvocations().size(), response.upstream_calls());
+        verify(githubClient, never()).searchRepositories(contains("created:>"), anyInt(), anyInt(), anyString(), anyString());
+        verify(searchPeers, never()).fetchFromOwner(any(SearchCacheKey.class), any(SearchRepositoryQuery.class));
+    }
+
+    @Test
+    void testCrawlStopsAtCallBudgetAndReportsIncomplete() {
+        var crawlService = service(searchResultCache, 3);
+        var population = crawlPopulation(2500);
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenAnswer(invocation -> searchCreatedWindow(population, invocation.getArgument(0),
+                        invocation.getArgument(2), invocation.getArgument(1)));
+
+        var response = crawlService.crawlAndScoreTop(new SearchRepositoryQuery("Java", "2020-01-01"), 10);
+
+        assertFalse(response.complete());
+        assertEquals(3, response.upstream_calls());
+        assertTrue(response.scored_count() < 2500);
+    }
+
+    @Test
+    void testRepeatedCrawlSearchesTheSamePagesFromTheCache() throws InterruptedException {
+        var population = crawlPopulation(2500);
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenAnswer(invocation -> searchCreatedWindow(population, invocation.getArgument(0),
+                        invocation.getArgument(2), invocation.getArgument(1)));
+        var query = new SearchRepositoryQuery("Java", "2020-01-01");
+
+        var first = service.crawlAndScoreTop(query, 10);
+        int calls = mockingDetails(githubClient).getInvocations().size();
+        /* a second later, when windows ending at the current time would all have moved */
+        Thread.sleep(1100);
+        var second = service.crawlAndScoreTop(query, 10);
+
+        assertTrue(first.upstream_calls() > 0);
+        assertEquals(0, second.upstream_calls());
+        assertEquals(calls, mockingDetails(githubClient).getInvocations().size());
+        assertEquals(first.repositories(), second.repositories());
+    }
+
+    @Test
+    void testCrawlLeavesOutFailedPagesAndReportsIncomplete() {
+        var population = crawlPopulation(2500);
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenAnswer(invocation -> {
+                    if (invocation.getArgument(2, Integer.class) == 2) {
+                        throw new FeignException.InternalServerError("500", feignRequest(), null, null);
+                    }
+                    return searchCreatedWindow(population, invocation.getArgument(0), invocation.getArgument(2),
+                            invocation.getArgument(1));
+                });
+
+        var response = service.crawlAndScoreTop(new SearchRepositoryQuery("Java", "2020-01-01"), 10);
+
+        assertFalse(response.complete());
+        assertTrue(response.scored_count() > 0 && response.scored_count() < 2500);
+    }
+
+    /*
+     * Repositories created at evenly spaced times since 2020-01-02, with distinct star counts in shuffled order.
+     * */
+    private static List<Repository> crawlPopulation(int size) {
+        long from = Instant.parse("2020-01-02T00:00:00Z").getEpochSecond();
+        long step = (Instant.parse("2025-01-01T00:00:00Z").getEpochSecond() - from) / size;
+        return IntStream.range(0, size)
+                .mapToObj(i -> new Repository(i + 1, "repo" + i, "desc", Instant.ofEpochSecond(from + i * step).toString(),
+                        "2025-01-01T00:00:00Z", 1, (i * 7919) % size, "Java"))
+                .toList();
+    }
+
+    /*
+     * Answers a created:from..to search like GitHub: matches sorted by stars, at most 1000 of them reachable.
+     * */
+    private static SearchRepositoriesResponse searchCreatedWindow(List<Repository> population, String query,
+                                                                  int page, int pageSize) {
+        var range = Pattern.compile("created:(\\S+)\\.\\.(\\S+)").matcher(query);
+        assertTrue(range.find());
+        long from = Instant.parse(range.group(1)).getEpochSecond();
+        long to = Instant.parse(range.group(2)).getEpochSecond();
+        var matches = population.stream()
+                .filter(repository -> repository.created_at() >= from && repository.created_at() <= to)
+                .sorted(Comparator.comparingInt(Repository::stargazers_count).reversed())
+                .toList();
+        int start = Math.min((page - 1) * pageSize, Math.min(matches.size(), 1000));
+        int end = Math.min(start + pageSize, Math.min(matches.size(), 1000));
+        return new SearchRepositoriesResponse(matches.size(), matches.subList(start, end));
+    }
+
+    private static SearchRepositoriesResponse pageOfRepositories(int page, int pageSize) {
+        var items = IntStream.rangeClosed((page - 1) * pageSize + 1, page * pageSize)
+                .mapToObj(id -> new Repository(id, "repo" + id, "desc", "2023-01-27T02:25:38Z",
+                        "2023-01-27T02:25:38Z", id, 10_000 - id, "Java"))
+                .toList();
+        return new SearchRepositoriesResponse(5000, items);
+    }
 
     @Test
     void testFeignException422ThrowsUnprocessableEntity() {
@@ -178,4 +518,305 @@ class GithubRepositorySearchServiceTest {
 
         assertThrows(InternalServerErrorException.class, () -> service.searchAndScore(request));
     }
+
+    @Test
+    void testFeignExceptionRateLimitedThrowsTooManyRequests() {
+        var request = new SearchRepositoryRequest(
+                new SearchRepositoryQuery("Java", "2020-01-01"),
+                new PageRequest(1, 10)
+        );
+        Request feignRequest = Request.create(
+                Request.HttpMethod.GET,
+                "/repositories",
+                Collections.emptyMap(),
+                null,
+                StandardCharsets.UTF_8,
+                null
+        );
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenThrow(new FeignException.Forbidden(
+                        "403 Forbidden",
+                        feignRequest,
+                        null,
+                        Map.of("X-RateLimit-Remaining", List.of("0"))
+                ));
+
+        assertThrows(TooManyRequestsException.class, () -> service.searchAndScore(request));
+    }
+
+    @Test
+    void testSyncedLanguageIsServedFromIndex() {
+        repositoryIndex.upsert("Java", List.of(
+                new Repository(1, "old", "d", "2019-06-01T00:00:00Z", "2025-01-01T00:00:00Z", 1, 1, "Java"),
+                new Repository(2, "low", "d", "2021-06-01T00:00:00Z", "2025-01-01T00:00:00Z", 1, 10, "Java"),
+                new Repository(3, "high", "d", "2021-06-01T00:00:00Z", "2025-01-01T00:00:00Z", 1, 30, "Java"),
+                new Repository(4, "created on the boundary", "d", "2020-01-01T12:00:00Z", "2025-01-01T00:00:00Z", 1, 20, "Java")));
+        repositoryIndex.markSynced("java", Instant.parse("2019-01-01T00:00:00Z").getEpochSecond(),
+                Instant.now().getEpochSecond());
+        when(repositoryScorer.calculateScore(anyInt(), anyInt(), anyLong(), anyLong()))
+                .thenAnswer(invocation -> (double) invocation.getArgument(0, Integer.class));
+
+        var firstPage = service.searchAndScore(new SearchRepositoryRequest(
+                new SearchRepositoryQuery("java", "2020-01-01"), new PageRequest(1, 1)));
+        var secondPage = service.searchAndScore(new SearchRepositoryRequest(
+                new SearchRepositoryQuery("java", "2020-01-01"), new PageRequest(1, 2)));
+
+        assertEquals(2, firstPage.total_count());
+        assertEquals(List.of("high"), firstPage.repositories().stream().map(ScoredRepository::name).toList());
+        assertEquals(List.of("low"), secondPage.repositories().stream().map(ScoredRepository::name).toList());
+        verifyNoInteractions(githubClient);
+    }
+
+    @Test
+    void testUnsyncedLanguageIsSearchedOnGithub() {
+        repositoryIndex.upsert("java", List.of(
+                new Repository(1, "indexed", "d", "2021-06-01T00:00:00Z", "2025-01-01T00:00:00Z", 1, 1, "Java")));
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new SearchRepositoriesResponse(0, List.of()));
+
+        service.searchAndScore(new SearchRepositoryRequest(
+                new SearchRepositoryQuery("java", "2020-01-01"), new PageRequest(10, 1)));
+
+        verify(githubClient).searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    void testQueryForRepositoriesCreatedBeforeTheSyncedRangeIsSearchedOnGithub() {
+        repositoryIndex.upsert("java", List.of(
+                new Repository(1, "indexed", "d", "2021-06-01T00:00:00Z", "2025-01-01T00:00:00Z", 1, 1, "Java")));
+        repositoryIndex.markSynced("java", Instant.parse("2024-12-25T00:00:00Z").getEpochSecond(),
+                Instant.now().getEpochSecond());
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new SearchRepositoriesResponse(0, List.of()));
+
+        service.searchAndScore(new SearchRepositoryRequest(
+                new SearchRepositoryQuery("java", "2020-01-01"), new PageRequest(10, 1)));
+
+        verify(githubClient).searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    void testFormulaReplacesConfiguredWeights() {
+        var created = Instant.now().minus(40, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+        var updated = Instant.now().minus(3, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+        var young = new Repository(1, "young", "d", created.toString(), updated.toString(), 1, 400, "Java");
+        var old = new Repository(2, "old", "d", "2015-01-01T00:00:00Z", updated.toString(), 1, 4000, "Java");
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new SearchRepositoriesResponse(2, List.of(old, young)));
+
+        var response = service.searchAndScore(new SearchRepositoryRequest(
+                new SearchRepositoryQuery("java", "2010-01-01"), new PageRequest(10, 1),
+                "stars / (days_since_created + 1) + days_since_updated"));
+
+        assertEquals(List.of("young", "old"), response.repositories().stream().map(ScoredRepository::name).toList());
+        assertEquals(12.76, response.repositories().get(0).score());
+        assertEquals(GithubRepositorySearchService.FORMULA_WEIGHTS_VERSION, response.weights_version());
+        verify(repositoryScorer, never()).calculateScore(anyInt(), anyInt(), anyLong(), anyLong());
+    }
+
+    @Test
+    void testInvalidFormulaIsRejectedBeforeSearching() {
+        var request = new SearchRepositoryRequest(
+                new SearchRepositoryQuery("java", "2020-01-01"), new PageRequest(10, 1), "log(stars");
+
+        var exception = assertThrows(BadRequestException.class, () -> service.searchAndScore(request));
+
+        assertTrue(exception.getMessage().contains("Expected ')'"));
+        verifyNoInteractions(githubClient);
+    }
+
+    @Test
+    void testScoredBatchesAreCountedPerLanguage() {
+        var repo = new Repository(1, "repo", "desc", "2023-01-27T02:25:38Z", "2023-01-27T02:25:38Z", 5, 2000, "Java");
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new SearchRepositoriesResponse(2, List.of(repo, repo)));
+
+        service.searchAndScore(new SearchRepositoryRequest(
+                new SearchRepositoryQuery("Kotlin", "2020-01-01"), new PageRequest(10, 1)));
+
+        assertEquals(2.0, meterRegistry.get("repository.scored.items").tag("language", "kotlin").counter().count());
+        assertEquals(1, meterRegistry.get("repository.scoring.batch").tag("language", "kotlin").timer().count());
+    }
+
+    @Test
+    void testBatchSearchesIdenticalRequestsOnceAndFailsOnlyInvalidOnes() {
+        var uncachedService = service(new SearchResultCache(
+                new SearchCacheConfigurationProperties(false, Duration.ofMinutes(5), 100, Duration.ZERO, false),
+                new SimpleMeterRegistry()));
+        var repo = new Repository(1, "repo", "desc", "2023-01-27T02:25:38Z", "2023-01-27T02:25:38Z", 5, 2000, "Java");
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new SearchRepositoriesResponse(1, List.of(repo)));
+        var java = new SearchRepositoryRequest(new SearchRepositoryQuery("java", "2020-01-01"), new PageRequest(10, 1));
+        var go = new SearchRepositoryRequest(new SearchRepositoryQuery("go", "2020-01-01"), new PageRequest(10, 1));
+        var invalid = new SearchRepositoryRequest(
+                new SearchRepositoryQuery("rust", "2020-01-01"), new PageRequest(10, 1), "log(stars");
+
+        var results = uncachedService.searchAndScoreAll(List.of(java, invalid, go, java));
+
+        assertEquals(4, results.size());
+        assertSame(results.get(0), results.get(3));
+        assertEquals("repo", results.get(0).result().repositories().get(0).name());
+        assertNull(results.get(0).error());
+        assertNull(results.get(1).result());
+        assertEquals(400, results.get(1).error().status());
+        assertEquals(1, results.get(2).result().total_count());
+        verify(githubClient, times(2)).searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    void testStaleResultIsServedWhenGithubFails() throws InterruptedException {
+        var staleService = service(staleCache(false));
+        var repo = new Repository(1, "repo", "desc", "2023-01-27T02:25:38Z", "2023-01-27T02:25:38Z", 5, 2000, "Java");
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new SearchRepositoriesResponse(1, List.of(repo)))
+                .thenThrow(new FeignException.BadGateway("502 Bad Gateway", feignRequest(), null, null));
+        var request = new SearchRepositoryRequest(
+                new SearchRepositoryQuery("Java", "2020-01-01"), new PageRequest(10, 1));
+
+        assertFalse(staleService.searchAndScore(request).stale());
+        Thread.sleep(20);
+        var response = staleService.searchAndScore(request);
+
+        assertTrue(response.stale());
+        assertEquals(List.of("repo"), response.repositories().stream().map(ScoredRepository::name).toList());
+        assertEquals(1.0, meterRegistry.get("github.search.stale.served").tag("reason", "upstream_error").counter().count());
+    }
+
+    @Test
+    void testStaleResultIsServedWhenTheSearchIsShedLocally() throws InterruptedException {
+        var staleService = service(staleCache(false));
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new SearchRepositoriesResponse(0, List.of()))
+                .thenThrow(new TooManyRequestsException("GitHub search rate limit reached, please try again later."));
+        var request = new SearchRepositoryRequest(
+                new SearchRepositoryQuery("Java", "2020-01-01"), new PageRequest(10, 1));
+
+        staleService.searchAndScore(request);
+        Thread.sleep(20);
+
+        assertTrue(staleService.searchAndScore(request).stale());
+        assertEquals(1.0, meterRegistry.get("github.search.stale.served").tag("reason", "upstream_error").counter().count());
+    }
+
+    @Test
+    void testStaleResultIsServedWhenTheOwningReplicaIsRateLimited() throws InterruptedException {
+        var staleService = service(staleCache(false));
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new SearchRepositoriesResponse(0, List.of()));
+        var request = new SearchRepositoryRequest(
+                new SearchRepositoryQuery("Java", "2020-01-01"), new PageRequest(10, 1));
+
+        staleService.searchAndScore(request);
+        when(searchPeers.fetchFromOwner(any(SearchCacheKey.class), any(SearchRepositoryQuery.class)))
+                .thenThrow(new TooManyRequestsException("GitHub search rate limit reached, please try again later."));
+        Thread.sleep(20);
+
+        assertTrue(staleService.searchAndScore(request).stale());
+        verify(githubClient, times(1)).searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    void testStaleResultIsNotServedWhenGithubRejectsTheQuery() throws InterruptedException {
+        var staleService = service(staleCache(false));
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new SearchRepositoriesResponse(0, List.of()))
+                .thenThrow(new FeignException.UnprocessableEntity("422", feignRequest(), null, null));
+        var request = new SearchRepositoryRequest(
+                new SearchRepositoryQuery("Java", "2020-01-01"), new PageRequest(10, 1));
+
+        staleService.searchAndScore(request);
+        Thread.sleep(20);
+
+        assertThrows(UnprocessableEntityException.class, () -> staleService.searchAndScore(request));
+    }
+
+    @Test
+    void testStaleResultIsServedWhileRevalidatingInBackground() throws InterruptedException {
+        var staleService = service(staleCache(true));
+        var before = new Repository(1, "before", "d", "2023-01-27T02:25:38Z", "2023-01-27T02:25:38Z", 5, 2000, "Java");
+        var after = new Repository(2, "after", "d", "2023-01-27T02:25:38Z", "2023-01-27T02:25:38Z", 5, 2000, "Java");
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new SearchRepositoriesResponse(1, List.of(before)))
+                .thenReturn(new SearchRepositoriesResponse(1, List.of(after)));
+        var query = new SearchRepositoryQuery("Java", "2020-01-01");
+
+        staleService.searchAndScoreTop(query, 10);
+        Thread.sleep(20);
+        var stale = staleService.searchAndScoreTop(query, 10);
+
+        assertTrue(stale.stale());
+        assertEquals("before", stale.repositories().get(0).name());
+        verify(githubClient, timeout(1000).times(2))
+                .searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString());
+        assertEquals(1.0, meterRegistry.get("github.search.stale.served").tag("reason", "revalidating").counter().count());
+    }
+
+    @Test
+    void testPageOwnedByAnotherReplicaIsTakenFromTheOwner() {
+        var repo = new Repository(1, "shared", "d", "2023-01-27T02:25:38Z", "2023-01-27T02:25:38Z", 5, 2000, "Java");
+        var fetchedAt = Instant.now().minusSeconds(60).truncatedTo(ChronoUnit.MILLIS);
+        when(searchPeers.fetchFromOwner(any(SearchCacheKey.class), any(SearchRepositoryQuery.class))).thenAnswer(invocation -> Optional.of(
+                new CachedSearch(invocation.getArgument(0), new SearchRepositoriesResponse(1, List.of(repo)), fetchedAt)));
+        var request = new SearchRepositoryRequest(
+                new SearchRepositoryQuery("Java", "2020-01-01"), new PageRequest(10, 1));
+
+        assertEquals("shared", service.searchAndScore(request).repositories().get(0).name());
+        assertEquals("shared", service.searchAndScore(request).repositories().get(0).name());
+
+        var key = ArgumentCaptor.forClass(SearchCacheKey.class);
+        verify(searchPeers).fetchFromOwner(key.capture(), eq(new SearchRepositoryQuery("Java", "2020-01-01")));
+        verifyNoInteractions(githubClient);
+        var restored = searchResultCache.getEntry(key.getValue()).orElseThrow();
+        assertTrue(Duration.between(fetchedAt, restored.fetchedAt()).abs().toMillis() < 1000);
+    }
+
+    @Test
+    void testPageIsSearchedOnGithubWhenTheOwnerIsUnavailable() {
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new SearchRepositoriesResponse(0, List.of()));
+
+        service.searchAndScore(new SearchRepositoryRequest(
+                new SearchRepositoryQuery("Java", "2020-01-01"), new PageRequest(10, 1)));
+
+        verify(searchPeers).fetchFromOwner(any(SearchCacheKey.class), any(SearchRepositoryQuery.class));
+        verify(githubClient).searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    void testSearchForPeerIsAnsweredLocallyAndCached() {
+        var query = new SearchRepositoryQuery("Java", "2020-01-01");
+        String githubQuery = "language:Java created:>2020-01-01 archived:false mirror:false";
+        when(githubClient.searchRepositories(githubQuery, 10, 1, STARS, DESC))
+                .thenReturn(new SearchRepositoriesResponse(0, List.of()));
+
+        var first = service.searchForPeer(query, new PageRequest(10, 1)).orElseThrow();
+        var second = service.searchForPeer(query, new PageRequest(10, 1)).orElseThrow();
+
+        assertEquals(new SearchCacheKey(githubQuery, 1, 10), first.key());
+        assertEquals(first.response(), second.response());
+        assertTrue(Duration.between(first.fetchedAt(), second.fetchedAt()).abs().toMillis() < 1000);
+        verify(githubClient, times(1)).searchRepositories(githubQuery, 10, 1, STARS, DESC);
+        verify(searchPeers, never()).fetchFromOwner(any(SearchCacheKey.class), any(SearchRepositoryQuery.class));
+    }
+
+    @Test
+    void testSearchForPeerIsEmptyWhenGithubAnswersWithoutBody() {
+        when(githubClient.searchRepositories(anyString(), anyInt(), anyInt(), anyString(), anyString())).thenReturn(null);
+
+        assertTrue(service.searchForPeer(new SearchRepositoryQuery("Java", "2020-01-01"), new PageRequest(10, 1))
+                .isEmpty());
+    }
+
+    /*
+     * Entries turn stale after a millisecond and stay available as stale for an hour.
+     * */
+    private static SearchResultCache staleCache(boolean staleWhileRevalidate) {
+        return new SearchResultCache(new SearchCacheConfigurationProperties(true, Duration.ofMillis(1), 100,
+                Duration.ofHours(1), staleWhileRevalidate), new SimpleMeterRegistry());
+    }
+
+    private static Request feignRequest() {
+        return Request.create(Request.HttpMethod.GET, "/search/repositories", Collections.emptyMap(),
+                null, StandardCharsets.UTF_8, null);
+    }
 }
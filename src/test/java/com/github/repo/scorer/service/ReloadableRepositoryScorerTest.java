@@ -0,0 +1,49 @@
+package com.github.repo.scorer.service;
+
+import com.github.repo.scorer.config.RepositoryScorerConfigurationProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReloadableRepositoryScorerTest {
+
+    private static final RepositoryScorerConfigurationProperties CONFIGURED =
+            new RepositoryScorerConfigurationProperties(0.5, 0.3, 0.2);
+
+    @Test
+    void testConfiguredWeightsAreVersionOne() {
+        var reloadableScorer = new ReloadableRepositoryScorer(CONFIGURED);
+
+        assertEquals(1, reloadableScorer.current().version());
+        assertEquals(CONFIGURED, reloadableScorer.current().weights());
+    }
+
+    @Test
+    void testReloadSwapsScorerAndIncrementsVersion() {
+        var reloadableScorer = new ReloadableRepositoryScorer(CONFIGURED);
+        var before = reloadableScorer.current();
+
+        var starsOnly = new RepositoryScorerConfigurationProperties(1.0, 0.0, 0.0);
+        var reloaded = reloadableScorer.reload(starsOnly);
+
+        assertEquals(2, reloaded.version());
+        assertSame(reloaded, reloadableScorer.current());
+        assertEquals(starsOnly, reloaded.weights());
+        assertEquals(4.62, reloaded.scorer().calculateScore(100, 100, 0, 0));
+        /* a request that took the scorer before the reload keeps scoring with the old weights */
+        assertEquals(3.89, before.scorer().calculateScore(100, 100, 0, 0));
+    }
+
+    @Test
+    void testInvalidWeightsKeepActiveScorer() {
+        var reloadableScorer = new ReloadableRepositoryScorer(CONFIGURED);
+        var before = reloadableScorer.current();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> reloadableScorer.reload(new RepositoryScorerConfigurationProperties(-1.0, 0.3, 0.2)));
+        assertThrows(IllegalArgumentException.class,
+                () -> reloadableScorer.reload(new RepositoryScorerConfigurationProperties(Double.NaN, 0.3, 0.2)));
+
+        assertSame(before, reloadableScorer.current());
+    }
+}
@@ -0,0 +1,26 @@
+package com.github.repo.scorer.service;
+
+import com.github.repo.scorer.client.Repository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RepositoryColumnsTest {
+
+    @Test
+    void testColumnsFollowListOrder() {
+        var columns = RepositoryColumns.of(List.of(repository(7, 10, 1), repository(3, 20, 2)), Repository::pushed_at);
+
+        assertEquals(2, columns.size());
+        assertArrayEquals(new int[]{7, 3}, columns.ids());
+        assertArrayEquals(new int[]{10, 20}, columns.stars());
+        assertArrayEquals(new int[]{1, 2}, columns.forks());
+        assertArrayEquals(new long[]{1_700_000_007L, 1_700_000_003L}, columns.updatedAt());
+    }
+
+    private static Repository repository(int id, int stars, int forks) {
+        return new Repository(id, "repo" + id, null, 1_600_000_000L, 1_700_000_000L + id, forks, stars, "Java");
+    }
+}
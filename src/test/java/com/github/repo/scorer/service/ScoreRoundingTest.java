@@ -0,0 +1,85 @@
+package com.github.repo.scorer.service;
+
+import com.github.repo.scorer.config.RepositoryScorerConfigurationProperties;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/*
+ * Property check: for every sampled value the primitive rounding must return exactly the same bits as the
+ * BigDecimal HALF_UP rounding it replaces.
+ * */
+class ScoreRoundingTest {
+
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    void testMatchesBigDecimalForRandomScores() {
+        var random = new SplittableRandom(20251118L);
+        for (int i = 0; i < SAMPLES; i++) {
+            double scale = Math.pow(10, random.nextInt(-3, 7));
+            assertSameAsBigDecimal(random.nextDouble() * scale);
+            assertSameAsBigDecimal(-random.nextDouble() * scale);
+        }
+    }
+
+    @Test
+    void testMatchesBigDecimalAroundHalfwayPoints() {
+        var random = new SplittableRandom(42L);
+        for (int i = 0; i < SAMPLES; i++) {
+            long cents = random.nextLong(0, 10_000_000);
+            double halfway = (2 * cents + 1) / 200.0;
+            assertSameAsBigDecimal(halfway);
+            assertSameAsBigDecimal(Math.nextUp(halfway));
+            assertSameAsBigDecimal(Math.nextDown(halfway));
+            assertSameAsBigDecimal(-halfway);
+            assertSameAsBigDecimal(cents / 100.0);
+            assertSameAsBigDecimal(Math.nextDown(cents / 100.0));
+        }
+    }
+
+    @Test
+    void testMatchesBigDecimalForRealisticScores() {
+        var scorer = new WeightedRepositoryScorer(
+                new RepositoryScorerConfigurationProperties(0.5, 0.3, 0.2));
+        var random = new SplittableRandom(7L);
+        for (int i = 0; i < SAMPLES; i++) {
+            double raw = Math.log(random.nextInt(0, 500_000) + 1) * 0.5
+                    + Math.log(random.nextInt(0, 100_000) + 1) * 0.3
+                    + 0.2 / (1 + random.nextInt(0, 6_000));
+            assertSameAsBigDecimal(raw);
+        }
+        assertEquals(bigDecimalRound(Math.log(501) * 0.5 + Math.log(11) * 0.3 + 0.2 / 3), scorer.calculateScore(500, 10, 2));
+    }
+
+    @Test
+    void testMatchesBigDecimalForEdgeValues() {
+        double[] values = {0.0, -0.0, 0.005, 0.004999999999999999, 1.005, 2.675, 1.115, -1.005, 0.001, -0.001,
+                999_999_999.995, 1e9, 1e12, 123456789012.345, Double.MIN_VALUE, -Double.MIN_VALUE};
+        for (double value : values) {
+            assertSameAsBigDecimal(value);
+        }
+    }
+
+    @Test
+    void testNonFiniteValuesFailLikeBigDecimal() {
+        assertThrows(NumberFormatException.class, () -> ScoreRounding.roundHalfUp(Double.POSITIVE_INFINITY));
+        assertThrows(NumberFormatException.class, () -> ScoreRounding.roundHalfUp(Double.NaN));
+    }
+
+    private static void assertSameAsBigDecimal(double value) {
+        double expected = bigDecimalRound(value);
+        double actual = ScoreRounding.roundHalfUp(value);
+        assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual),
+                () -> "Rounding of " + value + " expected " + expected + " but was " + actual);
+    }
+
+    private static double bigDecimalRound(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).doubleValue();
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.repo.scorer.service;
+
+import com.github.repo.scorer.cache.PopularSearches;
+import com.github.repo.scorer.cache.SearchCachePeers;
+import com.github.repo.scorer.cache.SearchCacheKey;
+import com.github.repo.scorer.cache.SearchResultCache;
+import com.github.repo.scorer.client.SearchRateLimiter;
+import com.github.repo.scorer.config.SearchCacheConfigurationProperties;
+import com.github.repo.scorer.config.SearchPeerConfigurationProperties;
+import com.github.repo.scorer.config.SearchPrefetchConfigurationProperties;
+import com.github.repo.scorer.config.SearchRateLimitConfigurationProperties;
+import com.github.repo.scorer.exception.InternalServerErrorException;
+import com.github.repo.scorer.model.SearchRepositoriesResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SearchPrefetcherTest {
+
+    private static final SearchCacheKey JAVA = new SearchCacheKey("language:java", 1, 100);
+    private static final SearchCacheKey GO = new SearchCacheKey("language:go", 1, 100);
+
+    @TempDir
+    private Path directory;
+
+    private GithubRepositorySearchService searchService;
+    private PopularSearches popularSearches;
+    private SearchResultCache searchResultCache;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        searchService = mock(GithubRepositorySearchService.class);
+        popularSearches = new PopularSearches(properties(0));
+        searchResultCache = new SearchResultCache(new SearchCacheConfigurationProperties(true, Duration.ofMinutes(5),
+                10, Duration.ZERO, false), new SimpleMeterRegistry());
+        meterRegistry = new SimpleMeterRegistry();
+        popularSearches.record(JAVA);
+        popularSearches.record(JAVA);
+        popularSearches.record(GO);
+    }
+
+    @Test
+    void testPrefetchesPopularSearchesMissingFromTheCacheAndPersistsThem() {
+        searchResultCache.put(GO, new SearchRepositoriesResponse(0, Collections.emptyList()));
+
+        prefetcher(0, 10).prefetch();
+
+        verify(searchService).prefetch(JAVA);
+        verify(searchService, never()).prefetch(GO);
+        assertEquals(1, meterRegistry.counter("github.prefetch.fetched").count());
+        assertTrue(Files.exists(directory.resolve("popular.json")));
+    }
+
+    @Test
+    void testStopsAtReservedBudget() {
+        prefetcher(10, 10).prefetch();
+
+        verifyNoInteractions(searchService);
+    }
+
+    @Test
+    void testFailedPrefetchDoesNotStopTheRun() {
+        doThrow(new InternalServerErrorException("GitHub is down")).when(searchService).prefetch(JAVA);
+
+        prefetcher(0, 10).prefetch();
+
+        verify(searchService).prefetch(GO);
+        assertEquals(1, meterRegistry.counter("github.prefetch.fetched").count());
+    }
+
+    @Test
+    void testSkipsSearchesOwnedByAnotherReplica() {
+        var peers = new SearchCachePeers(new SearchPeerConfigurationProperties(true, URI.create("http://replica-a"),
+                List.of(URI.create("http://replica-a"), URI.create("http://replica-b")), 128, Duration.ofSeconds(1),
+                Duration.ofSeconds(30), "secret"), new SimpleMeterRegistry());
+        popularSearches = new PopularSearches(properties(0));
+        var keys = List.of(JAVA, GO, new SearchCacheKey("language:rust", 1, 100),
+                new SearchCacheKey("language:kotlin", 1, 100), new SearchCacheKey("language:scala", 1, 100));
+        keys.forEach(popularSearches::record);
+
+        prefetcher(0, 10, peers).prefetch();
+
+        long owned = keys.stream().filter(peers::ownsLocally).count();
+        assertTrue(owned > 0 && owned < keys.size());
+        for (var key : keys) {
+            verify(searchService, times(peers.ownsLocally(key) ? 1 : 0)).prefetch(key);
+        }
+    }
+
+    private SearchPrefetcher prefetcher(int reservedBudget, int rateLimit) {
+        return prefetcher(reservedBudget, rateLimit, new SearchCachePeers(new SearchPeerConfigurationProperties(false,
+                null, List.of(), 128, Duration.ofSeconds(1), Duration.ofSeconds(30), null), new SimpleMeterRegistry()));
+    }
+
+    private SearchPrefetcher prefetcher(int reservedBudget, int rateLimit, SearchCachePeers peers) {
+        var rateLimiter = new SearchRateLimiter(new SearchRateLimitConfigurationProperties(true, rateLimit,
+                Duration.ofMinutes(1), Duration.ZERO, 0), new SimpleMeterRegistry());
+        return new SearchPrefetcher(popularSearches, searchService, searchResultCache, peers, rateLimiter,
+                properties(reservedBudget), meterRegistry);
+    }
+
+    private SearchPrefetchConfigurationProperties properties(int reservedBudget) {
+        return new SearchPrefetchConfigurationProperties(true, 5, Duration.ofMinutes(1), reservedBudget,
+                directory.resolve("popular.json"));
+    }
+}
@@ -56,4 +56,22 @@ class SearchQueryBuilderTest {
         String expected = "archived:true mirror:false";
         assertEquals(expected, query.buildQueryString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPushedBetween() {
+        SearchQueryBuilder query = new SearchQueryBuilder.Builder("java", null)
+                .pushedBetween("2025-01-01T00:00:00Z", "2025-01-02T00:00:00Z")
+                .build();
+        String expected = "language:java pushed:2025-01-01T00:00:00Z..2025-01-02T00:00:00Z archived:false mirror:false";
+        assertEquals(expected, query.buildQueryString());
+    }
+
+    @Test
+    void testCreatedBetweenReplacesCreatedAfter() {
+        SearchQueryBuilder query = new SearchQueryBuilder.Builder("java", "2020-01-01")
+                .createdBetween("2020-01-02T00:00:00Z", "2020-06-30T23:59:59Z")
+                .build();
+        String expected = "language:java created:2020-01-02T00:00:00Z..2020-06-30T23:59:59Z archived:false mirror:false";
+        assertEquals(expected, query.buildQueryString());
+    }
+}
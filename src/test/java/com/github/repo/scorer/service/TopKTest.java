@@ -0,0 +1,53 @@
+package com.github.repo.scorer.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKTest {
+
+    @Test
+    void testSelectionMatchesStableSortByScore() {
+        var random = new SplittableRandom(13);
+        for (int round = 0; round < 200; round++) {
+            int length = random.nextInt(0, 300);
+            double[] scores = new double[length];
+            for (int row = 0; row < length; row++) {
+                /* few distinct values, so most rows tie with others */
+                scores[row] = random.nextInt(0, 10) / 4.0;
+            }
+            int[] expected = IntStream.range(0, length).boxed()
+                    .sorted(Comparator.<Integer>comparingDouble(row -> scores[row]).reversed())
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+
+            for (int k : new int[]{0, 1, 7, length / 2, length, length + 5}) {
+                int[] selected = TopK.select(scores, length, k);
+
+                int[] expectedTop = Arrays.copyOf(expected, Math.max(0, Math.min(k, length)));
+                assertArrayEquals(expectedTop, selected, "length " + length + ", k " + k);
+            }
+        }
+    }
+
+    @Test
+    void testTieKeysOrderEqualScores() {
+        double[] scores = {1.0, 2.0, 1.0, 2.0, 0.5};
+        int[] ids = {40, 30, 10, 20, 50};
+
+        assertArrayEquals(new int[]{3, 1, 2}, TopK.select(scores, ids, scores.length, 3));
+        assertArrayEquals(new int[]{3, 1, 2, 0, 4}, TopK.select(scores, ids, scores.length, 5));
+    }
+
+    @Test
+    void testOnlyLengthPrefixIsConsidered() {
+        double[] scores = {1.0, 3.0, 2.0, 9.0};
+
+        assertArrayEquals(new int[]{1, 2}, TopK.select(scores, 3, 2));
+    }
+}
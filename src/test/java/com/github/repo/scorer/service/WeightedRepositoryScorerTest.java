@@ -1,9 +1,14 @@
 package com.github.repo.scorer.service;
 
+import com.github.repo.scorer.client.GithubTimestamps;
+import com.github.repo.scorer.client.Repository;
 import com.github.repo.scorer.config.RepositoryScorerConfigurationProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class WeightedRepositoryScorerTest {
@@ -68,30 +73,57 @@ class WeightedRepositoryScorerTest {
     @Test
     void testNegativeStarsWeightThrowException() {
         properties = new RepositoryScorerConfigurationProperties(-0.5, 0.3, 0.2);
-        scorer = new WeightedRepositoryScorer(properties);
 
         assertThrows(IllegalArgumentException.class, () -> {
-            scorer.calculateScore(500, 10, 2);
+            new WeightedRepositoryScorer(properties);
         });
     }
 
     @Test
     void testNegativeForksWeightThrowException() {
         properties = new RepositoryScorerConfigurationProperties(0.5, -0.3, 0.2);
-        scorer = new WeightedRepositoryScorer(properties);
 
         assertThrows(IllegalArgumentException.class, () -> {
-            scorer.calculateScore(500, 10, 2);
+            new WeightedRepositoryScorer(properties);
         });
     }
 
     @Test
     void testNegativeUpdatedAtWeightThrowException() {
         properties = new RepositoryScorerConfigurationProperties(0.5, 0.3, -0.2);
-        scorer = new WeightedRepositoryScorer(properties);
 
         assertThrows(IllegalArgumentException.class, () -> {
-            scorer.calculateScore(500, 10, 2);
+            new WeightedRepositoryScorer(properties);
         });
     }
+
+    @Test
+    void testScoreIsRoundedToTwoDecimals() {
+        double score = scorer.calculateScore(500, 10, 2);
+
+        assertEquals(3.89, score);
+    }
+
+    @Test
+    void testBulkScoresMatchPerRecordScores() {
+        var random = new SplittableRandom(12);
+        long now = 1_760_000_000L;
+        var repositories = new ArrayList<Repository>();
+        for (int id = 0; id < 50_000; id++) {
+            long pushedAt = now - random.nextLong(0, 4_000L * GithubTimestamps.SECONDS_PER_DAY);
+            repositories.add(new Repository(id, "repo", null, pushedAt, pushedAt,
+                    random.nextInt(0, 100_000), random.nextInt(0, 500_000), "Java"));
+        }
+        var columns = RepositoryColumns.of(repositories, Repository::pushed_at);
+        double[] scores = new double[columns.size()];
+
+        scorer.calculateScores(columns, now, scores);
+
+        for (int row = 0; row < columns.size(); row++) {
+            var repository = repositories.get(row);
+            long days = (now - repository.pushed_at()) / GithubTimestamps.SECONDS_PER_DAY;
+            assertEquals(scorer.calculateScore(repository.stargazers_count(), repository.forks_count(), days),
+                    scores[row], "row " + row);
+        }
+    }
 }